@@ -0,0 +1,116 @@
+package seedu.duke.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import seedu.duke.duke.DialogBox;
+
+/**
+ * Cost of showing one message in the conversation: parsing the dialog box FXML for every message as the
+ * GUI used to, building the dialog box in code, and reusing the dialog box of a recycled cell.
+ * Starts the JavaFX toolkit, so it needs a display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DialogBoxBenchmark {
+    private static final String MESSAGE = "Got it. I've added this task:\n"
+            + "  [D][ ] return book (by: 20 Sep 2023 18:00)\n"
+            + "Now you have 42 tasks in the list.";
+
+    // the dialog box layout as it was loaded from /view/DialogBox.fxml for every message
+    private static final byte[] FXML = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<?import javafx.geometry.Insets?>\n"
+            + "<?import javafx.scene.control.Label?>\n"
+            + "<?import javafx.scene.image.ImageView?>\n"
+            + "<?import javafx.scene.layout.HBox?>\n"
+            + "<fx:root styleClass=\"dialog-container\" alignment=\"TOP_RIGHT\" maxHeight=\"1.7976931348623157E308\""
+            + " maxWidth=\"1.7976931348623157E308\" prefWidth=\"400.0\" type=\"javafx.scene.layout.HBox\""
+            + " xmlns=\"http://javafx.com/javafx/17\" xmlns:fx=\"http://javafx.com/fxml/1\">\n"
+            + "    <children>\n"
+            + "        <Label fx:id=\"dialog\" styleClass=\"dialog\" text=\"Label\" wrapText=\"true\" />\n"
+            + "        <ImageView fx:id=\"displayPicture\" styleClass=\"display-picture\" fitHeight=\"99.0\""
+            + " fitWidth=\"99.0\" pickOnBounds=\"true\" preserveRatio=\"true\" />\n"
+            + "    </children>\n"
+            + "    <padding>\n"
+            + "        <Insets bottom=\"15.0\" left=\"5.0\" right=\"5.0\" top=\"15.0\" />\n"
+            + "    </padding>\n"
+            + "</fx:root>\n").getBytes(StandardCharsets.UTF_8);
+
+    private Image image;
+    private DialogBox recycled;
+
+    /**
+     * Controller the FXML fields are injected into
+     */
+    public static class FxmlFields {
+        public Label dialog;
+        public ImageView displayPicture;
+    }
+
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // already started
+        }
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/DaDuke.png"));
+        recycled = DialogBox.getDukeDialog(MESSAGE, image);
+    }
+
+    @Benchmark
+    public HBox fxmlPerMessage() throws IOException {
+        HBox box = new HBox();
+        FxmlFields fields = new FxmlFields();
+        FXMLLoader fxmlLoader = new FXMLLoader();
+        fxmlLoader.setController(fields);
+        fxmlLoader.setRoot(box);
+        fxmlLoader.load(new ByteArrayInputStream(FXML));
+        fields.dialog.setText(MESSAGE);
+        fields.displayPicture.setImage(image);
+        ObservableList<Node> children = FXCollections.observableArrayList(box.getChildren());
+        Collections.reverse(children);
+        box.getChildren().setAll(children);
+        box.setAlignment(Pos.TOP_LEFT);
+        return box;
+    }
+
+    @Benchmark
+    public DialogBox codePerMessage() {
+        return DialogBox.getDukeDialog(MESSAGE, image);
+    }
+
+    @Benchmark
+    public DialogBox recycledCell() {
+        recycled.setMessage(MESSAGE);
+        return recycled;
+    }
+}
@@ -0,0 +1,88 @@
+package seedu.duke.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.FsyncPolicy;
+import seedu.duke.utils.Storage;
+import seedu.duke.utils.TaskList;
+
+/**
+ * Cost of saving one change under each fsync policy, in snapshot and journal mode.
+ * Run it on the disk duke.txt is kept on, e.g. with -Djava.io.tmpdir, as forcing a file to disk costs
+ * very different amounts on different disks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FsyncBenchmark {
+    @Param({"never", "100ms", "always"})
+    private String fsync;
+
+    @Param({"SNAPSHOT", "JOURNAL"})
+    private Storage.Mode mode;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+    private boolean isMarked;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("duke-bench");
+        storage = new Storage(directory.resolve("duke.txt").toString(), Storage.Format.TEXT, mode,
+                Storage.DEFAULT_COMPACT_THRESHOLD, Storage.DEFAULT_FLUSH_WINDOW_MILLIS, FsyncPolicy.parse(fsync));
+        taskList = new TaskList(TaskFileGenerator.generate(size, 42), new Ui());
+        storage.writeFile(taskList);
+        storage.attach(taskList);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Marks or unmarks the first task and saves the change, as a command does
+     */
+    @Benchmark
+    public void saveChange() throws TaskException {
+        isMarked = !isMarked;
+        if (isMarked) {
+            taskList.mark(1);
+        } else {
+            taskList.unMark(1);
+        }
+        storage.save(taskList);
+    }
+}
@@ -0,0 +1,108 @@
+package seedu.duke.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test client for the HTTP API. Start Duke with -Dduke.http.port=8080, then run
+ * `./gradlew httpLoadTest -Purl=http://127.0.0.1:8080 -Pthreads=32 -Pseconds=10`.
+ * Every client thread sends a mix of reads and writes back to back and records each latency;
+ * the throughput and latency percentiles are printed at the end.
+ */
+public class HttpLoadClient {
+    private static final String[] PATHS = {
+        "/api/find?args=book", "/api/checkdate?args=2023-09-21", "/api/todo?args=load+test+task",
+        "/api/between?args=2023-09-01+2023-09-30", "/api/help"
+    };
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+
+    private HttpLoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Sends requests until the deadline and returns the latency of each one in nanoseconds
+     */
+    private long[] runClient(int offset, long deadline) {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : PATHS) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).build());
+        }
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(requests.get(i % requests.size()),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                }
+            } catch (IOException e) {
+                errors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        if (errors > 0) {
+            System.out.println(Thread.currentThread().getName() + ": " + errors + " failed requests");
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://127.0.0.1:8080";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        HttpLoadClient loadClient = new HttpLoadClient(baseUrl);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            results.add(pool.submit(() -> loadClient.runClient(offset, deadline)));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            int from = all.length;
+            all = Arrays.copyOf(all, from + latencies.length);
+            System.arraycopy(latencies, 0, all, from, latencies.length);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        Arrays.sort(all);
+        System.out.printf("%d requests in %.1f s with %d threads: %.0f requests/s%n",
+                all.length, elapsedSeconds, threads, all.length / elapsedSeconds);
+        System.out.printf("latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,166 @@
+package seedu.duke.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.CommandMetrics;
+import seedu.duke.utils.Parser;
+import seedu.duke.utils.Storage;
+import seedu.duke.utils.TaskList;
+
+/**
+ * Cost of parsing and running one command of every Operation against a list of 1000 tasks.
+ * Storage runs in write-behind mode with a long window, so the numbers do not include disk writes.
+ * Commands that change the list are undone directly on the TaskList afterwards, so every invocation
+ * runs against the same list. isMetered compares the cost with and without CommandMetrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParserBenchmark {
+    private static final int SIZE = 1000;
+
+    @Param
+    private Parser.Operation operation;
+
+    @Param({"false", "true"})
+    private boolean isMetered;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+    private Parser parser;
+    private String input;
+    private int index;
+    private Task deleted;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("duke-bench");
+        storage = new Storage(directory.resolve("duke.txt").toString(), Storage.Format.TEXT,
+                Storage.Mode.WRITE_BEHIND, Storage.DEFAULT_COMPACT_THRESHOLD, 60000);
+        taskList = new TaskList(TaskFileGenerator.generate(SIZE, 42), new Ui());
+        storage.attach(taskList);
+        parser = new Parser(storage);
+        // stats needs metrics to have something to show
+        if (isMetered || operation == Parser.Operation.STATS) {
+            parser.setMetrics(new CommandMetrics());
+        }
+        input = inputFor(operation);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.close();
+        Files.deleteIfExists(directory.resolve("duke.txt"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public String parse() throws TaskException {
+        String response = parser.parse(input, taskList);
+        undo();
+        return response;
+    }
+
+    private String inputFor(Parser.Operation operation) {
+        List<Task> tasks = taskList.returnTaskList();
+        switch (operation) {
+        case BYE:
+            return "bye";
+        case LIST:
+            return "list";
+        case HELP:
+            return "help";
+        case MARK:
+            index = indexOf(tasks, false);
+            return "mark " + index;
+        case UNMARK:
+            index = indexOf(tasks, true);
+            return "unmark " + index;
+        case DELETE:
+            index = tasks.size() / 2;
+            deleted = tasks.get(index - 1);
+            return "delete " + index;
+        case TODO:
+            return "todo read book";
+        case DEADLINE:
+            return "deadline return book /by 2023-09-20 18:00";
+        case EVENT:
+            return "event project meeting /from 2023-09-21 14:00 /to 2023-09-21 16:00";
+        case CHECKDATE:
+            return "checkdate 2023-09-21";
+        case BETWEEN:
+            return "between 2023-09-01 2023-09-30";
+        case FIND:
+            return "find report";
+        case SEARCH:
+            return "search reprot";
+        case UPCOMING:
+            return "upcoming 10";
+        case MORE:
+            parser.parse("list", taskList);
+            return "more";
+        case STATS:
+            return "stats";
+        default:
+            throw new IllegalArgumentException("No benchmark input for " + operation);
+        }
+    }
+
+    private void undo() throws TaskException {
+        switch (operation) {
+        case MARK:
+            taskList.unMark(index);
+            break;
+        case UNMARK:
+            taskList.mark(index);
+            break;
+        case DELETE:
+            taskList.addTask(deleted);
+            break;
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            taskList.deleteTask(taskList.returnTaskList().size());
+            break;
+        case MORE:
+            // show the first page again so the next more has a page to show
+            parser.parse("list", taskList);
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static int indexOf(List<Task> tasks, boolean isMarked) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).isMarked() == isMarked) {
+                return i + 1;
+            }
+        }
+        throw new IllegalStateException("No task with marked = " + isMarked);
+    }
+}
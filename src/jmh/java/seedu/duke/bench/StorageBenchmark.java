@@ -0,0 +1,76 @@
+package seedu.duke.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.Storage;
+import seedu.duke.utils.TaskList;
+
+/**
+ * Cost of loading and saving the whole task file in each storage format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param
+    private Storage.Format format;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("duke-bench");
+        storage = new Storage(directory.resolve("duke.txt").toString(), format, Storage.Mode.SNAPSHOT);
+        taskList = new TaskList(TaskFileGenerator.generate(size, 42), new Ui());
+        storage.writeFile(taskList);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<Task> readFile() throws IOException {
+        return storage.readFile();
+    }
+
+    @Benchmark
+    public void writeFile() {
+        storage.writeFile(taskList);
+    }
+}
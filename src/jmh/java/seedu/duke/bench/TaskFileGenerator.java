@@ -0,0 +1,90 @@
+package seedu.duke.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+
+/**
+ * Generates synthetic task lists for the benchmarks.
+ * The same count and seed always give the same tasks, so results are comparable across commits.
+ * Run with `./gradlew generateTaskFile -Pcount=1000000 -Pout=data/duke.txt` to write a duke.txt.
+ */
+public class TaskFileGenerator {
+    public static final LocalDateTime FIRST_DATE = LocalDateTime.of(2023, 1, 1, 0, 0);
+    public static final int DAYS = 730;
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "library", "buy", "groceries", "finish", "report", "call", "mom",
+        "project", "meeting", "submit", "assignment", "clean", "room", "pay", "bills", "gym", "session",
+        "review", "notes", "lecture", "tutorial", "quiz", "exam", "dentist", "appointment", "team", "dinner"
+    };
+
+    private TaskFileGenerator() {
+    }
+
+    /**
+     * Generates a mix of todos, deadlines and events spread over two years
+     *
+     * @param count number of tasks
+     * @param seed random seed
+     * @return the tasks
+     */
+    public static List<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            boolean isMarked = random.nextInt(4) == 0;
+            LocalDateTime start = FIRST_DATE.plusMinutes(random.nextInt(DAYS * 24 * 4) * 15L);
+            switch (random.nextInt(3)) {
+            case 0:
+                tasks.add(new Todo(description, isMarked));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, start, isMarked));
+                break;
+            default:
+                tasks.add(new Event(description, start, start.plusHours(1 + random.nextInt(72)), isMarked));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes generated tasks to a file in the duke.txt format
+     *
+     * @param path file to write
+     * @param count number of tasks
+     * @param seed random seed
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, int count, long seed) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Task task : generate(count, seed)) {
+                writer.write(task.writeFormat());
+                writer.write('\n');
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        Path path = Paths.get(args.length > 1 ? args[1] : "build/duke-" + count + ".txt");
+        write(path, count, 42);
+        System.out.println("Wrote " + count + " tasks to " + path);
+    }
+}
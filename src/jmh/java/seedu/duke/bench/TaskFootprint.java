@@ -0,0 +1,47 @@
+package seedu.duke.bench;
+
+import java.lang.ref.Reference;
+import java.util.List;
+
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.TaskList;
+
+/**
+ * Reports the heap used per task, for the generated mix of todos, deadlines and events.
+ * The figure includes the description strings and the reference in the list holding the tasks.
+ * Given a store, objects or columnar, it measures a TaskList of the tasks instead, without its indexes.
+ * Run with `./gradlew taskFootprint -Pcount=1000000 -Pstore=columnar`, adding -Pintern=true
+ * to see the effect of interning descriptions.
+ */
+public class TaskFootprint {
+    private TaskFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long before = usedAfterGc();
+        List<Task> tasks = TaskFileGenerator.generate(count, 42);
+        TaskList taskList = null;
+        if (args.length > 1) {
+            taskList = new TaskList(tasks, new Ui(), TaskList.Store.valueOf(args[1].toUpperCase()));
+            tasks = null;
+        }
+        long after = usedAfterGc();
+        System.out.printf("%d tasks: %d bytes, %.1f bytes per task%n", count, after - before,
+                (after - before) / (double) count);
+        Reference.reachabilityFence(tasks);
+        Reference.reachabilityFence(taskList);
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
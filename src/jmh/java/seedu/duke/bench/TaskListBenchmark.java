@@ -0,0 +1,80 @@
+package seedu.duke.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.Parser;
+import seedu.duke.utils.TaskList;
+
+/**
+ * Cost of the TaskList queries and of deleting a task as the list grows, for both ways of storing tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskListBenchmark {
+    private static final LocalDate DATE = TaskFileGenerator.FIRST_DATE.toLocalDate().plusDays(200);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"OBJECTS", "COLUMNAR"})
+    private TaskList.Store store;
+
+    private TaskList taskList;
+
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(TaskFileGenerator.generate(size, 42), new Ui(), store);
+        taskList.getTasksOnDate(DATE);
+        taskList.searchTasks("submit report", Parser.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public String findTasks() {
+        return taskList.findTasks("submit report");
+    }
+
+    /**
+     * Searches with a typo in each word, with the trigram index already built in setUp
+     */
+    @Benchmark
+    public String searchTasks() {
+        return taskList.searchTasks("sumbit reprot", Parser.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public String getTasksOnDate() {
+        return taskList.getTasksOnDate(DATE);
+    }
+
+    /**
+     * Deletes the task in the middle of the list and adds it back at the end, so the size stays the same
+     */
+    @Benchmark
+    public String deleteTask() throws TaskException {
+        int middle = size / 2;
+        Task task = taskList.returnTaskList().get(middle - 1);
+        String response = taskList.deleteTask(middle);
+        taskList.addTask(task);
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package seedu.duke.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+
+/**
+ * Cost of formatting the whole list for the list command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UiBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Ui ui;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        ui = new Ui();
+        tasks = TaskFileGenerator.generate(size, 42);
+    }
+
+    @Benchmark
+    public String printAllTasks() {
+        return ui.printAllTasks(tasks);
+    }
+}
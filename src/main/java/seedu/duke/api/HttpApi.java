@@ -0,0 +1,202 @@
+package seedu.duke.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import seedu.duke.utils.Parser;
+
+/**
+ * Local HTTP API running the same commands as the GUI.
+ * Every Parser.Operation is served at /api/{operation}, with the rest of the command taken from the
+ * request body or the `args` query parameter, e.g.
+ *      GET  /api/list
+ *      GET  /api/find?args=book
+ *      POST /api/deadline       return book /by 2023-09-20 18:00
+ * and answers with {"operation": "...", "response": "..."}. GET /api lists the operations.
+ * The server only listens on the loopback address. Each request runs on its own virtual thread when
+ * the JDK has them, and on a cached thread pool otherwise.
+ */
+public class HttpApi {
+    private static final String PREFIX = "/api";
+    private static final String ARGS_PARAMETER = "args=";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Function<String, String> commands;
+
+    /**
+     * constructor for HttpApi
+     *
+     * @param port port to listen on, or 0 for any free port
+     * @param commands runs a command and returns the response, e.g. Duke::getResponse
+     * @throws IOException if the port cannot be bound
+     */
+    public HttpApi(int port, Function<String, String> commands) throws IOException {
+        // the server writes the headers and the body separately, which without TCP_NODELAY waits on a
+        // delayed acknowledgement and adds about 40ms to every response
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        this.commands = commands;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+    }
+
+    /**
+     * Starts serving requests
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, letting requests being served finish
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("POST")) {
+                send(exchange, 405, "{\"error\": \"Use GET or POST\"}");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(PREFIX) || path.equals(PREFIX + "/")) {
+                send(exchange, 200, operations());
+                return;
+            }
+            String name = path.substring(PREFIX.length() + 1).toLowerCase(Locale.ROOT);
+            if (!isOperation(name)) {
+                send(exchange, 404, "{\"error\": " + quote("Unknown operation: " + name) + "}");
+                return;
+            }
+            String args = arguments(exchange);
+            String response = commands.apply(args.isEmpty() ? name : name + " " + args);
+            send(exchange, 200, "{\"operation\": " + quote(name) + ", \"response\": " + quote(response) + "}");
+        } catch (RuntimeException e) {
+            send(exchange, 500, "{\"error\": " + quote(String.valueOf(e.getMessage())) + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String arguments(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            String text = new String(body.readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (!text.isEmpty()) {
+                return text;
+            }
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return "";
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(ARGS_PARAMETER)) {
+                return URLDecoder.decode(parameter.substring(ARGS_PARAMETER.length()), StandardCharsets.UTF_8).trim();
+            }
+        }
+        return "";
+    }
+
+    private static boolean isOperation(String name) {
+        for (Parser.Operation operation : Parser.Operation.values()) {
+            if (operation.name().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String operations() {
+        StringBuilder json = new StringBuilder("{\"operations\": [");
+        Parser.Operation[] operations = Parser.Operation.values();
+        for (int i = 0; i < operations.length; i++) {
+            json.append(i == 0 ? "" : ", ").append(quote(operations[i].name().toLowerCase(Locale.ROOT)));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Quotes a string as a JSON string literal
+     */
+    static String quote(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                json.append("\\\"");
+                break;
+            case '\\':
+                json.append("\\\\");
+                break;
+            case '\n':
+                json.append("\\n");
+                break;
+            case '\r':
+                json.append("\\r");
+                break;
+            case '\t':
+                json.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+                break;
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Returns a virtual thread per task executor when running on a JDK that has virtual threads,
+     * and a cached pool of daemon threads otherwise
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "http-api");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
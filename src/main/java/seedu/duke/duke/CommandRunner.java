@@ -0,0 +1,70 @@
+package seedu.duke.duke;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs commands one at a time on a background thread, in the order they were submitted, and hands each
+ * response back through the callback executor, e.g. Platform::runLater to get it on the JavaFX thread.
+ * The submitting thread never waits for parsing, querying or saving.
+ */
+public class CommandRunner {
+    private final Function<String, String> commands;
+    private final Executor callbacks;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duke-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * constructor for CommandRunner
+     *
+     * @param commands runs a command and returns the response, e.g. Duke::getResponse
+     * @param callbacks runs the response callbacks
+     */
+    public CommandRunner(Function<String, String> commands, Executor callbacks) {
+        this.commands = commands;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * Queues a command. Once it and every command submitted before it have run, onResponse is given its
+     * response on the callback executor.
+     *
+     * @param input command to run
+     * @param onResponse receives the response
+     */
+    public void submit(String input, Consumer<String> onResponse) {
+        executor.execute(() -> {
+            String response;
+            try {
+                response = commands.apply(input);
+            } catch (RuntimeException e) {
+                response = "Error while running command: " + e.getMessage();
+            }
+            String toReturn = response;
+            callbacks.execute(() -> onResponse.accept(toReturn));
+        });
+    }
+
+    /**
+     * Stops accepting commands and waits for the queued ones to finish
+     *
+     * @param timeoutMillis longest time to wait
+     * @return true if every queued command finished in time
+     */
+    public boolean shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,62 +1,67 @@
 package seedu.duke.duke;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
- * An example of a custom control using FXML.
- * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
- * containing text from the speaker.
+ * A custom control representing a dialog box consisting of an ImageView to represent the speaker's face and
+ * a label containing text from the speaker.
+ * The layout is built in code rather than loaded from FXML, as a dialog box is made for every message cell
+ * and parsing the FXML each time cost more than everything else in showing a message.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private static final double PICTURE_SIZE = 99.0;
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+    private final Label dialog;
+    private final ImageView displayPicture;
+
+    /**
+     * Creates a dialog box, with the picture on the right for the user and on the left for Duke
+     */
+    private DialogBox(String text, Image img, boolean isUser) {
+        getStyleClass().add("dialog-container");
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+
+        dialog = new Label(text);
+        dialog.getStyleClass().add("dialog");
+        dialog.setWrapText(true);
+
+        displayPicture = new ImageView(img);
+        displayPicture.getStyleClass().add("display-picture");
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        if (isUser) {
+            setAlignment(Pos.TOP_RIGHT);
+            getChildren().addAll(dialog, displayPicture);
+        } else {
+            setAlignment(Pos.TOP_LEFT);
+            getChildren().addAll(displayPicture, dialog);
+        }
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Changes the text shown, so that the dialog box can be reused for another message.
+     *
+     * @param text text to show
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    public void setMessage(String text) {
+        dialog.setText(text);
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        return new DialogBox(text, img, true);
     }
 
     public static DialogBox getDukeDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+        return new DialogBox(text, img, false);
     }
 }
@@ -1,9 +1,16 @@
 package seedu.duke.duke;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import seedu.duke.api.HttpApi;
 import seedu.duke.ui.Ui;
+import seedu.duke.utils.CommandMetrics;
+import seedu.duke.utils.FsyncPolicy;
 import seedu.duke.utils.Parser;
+import seedu.duke.utils.ReminderScheduler;
 import seedu.duke.utils.Storage;
 import seedu.duke.utils.TaskList;
 
@@ -15,21 +22,89 @@ public class Duke {
     private Storage storage;
     private TaskList taskList;
     private Parser parser;
+    private HttpApi httpApi;
+    private ReminderScheduler reminders;
+    private volatile Consumer<String> reminderHandler = System.out::println;
+    private CompletableFuture<Void> archiving = CompletableFuture.completedFuture(null);
 
     /**
-     * Duke constructor
+     * Duke constructor. The storage format is read from the duke.storage.format system property
+     * (text or binary), the storage mode from duke.storage.mode (snapshot, journal or write_behind),
+     * the journal compaction threshold from duke.journal.threshold and the write behind flush window
+     * from duke.flush.window, when writes are forced to disk from duke.storage.fsync (always, never or an
+     * interval like 100ms), and how tasks are kept in memory from duke.tasks.store (objects or columnar).
+     * Only the first duke.load.first tasks are loaded before Duke starts, the rest are loaded in the
+     * background.
+     * If duke.http.port is set, the commands are also served over HTTP on that port. Commands are timed
+     * for the stats command and JMX unless duke.metrics is false. Once every task is loaded, deadlines and
+     * events are reminded of duke.reminders.lead minutes ahead, unless duke.reminders is false.
      *
      * @param filePath filepath to duke.txt
      */
     public Duke(String filePath) {
-        this.storage = new Storage(filePath);
+        this(filePath, true);
+    }
+
+    /**
+     * Duke constructor, see Duke(String). Commands from a script are only reminded of deadlines and events
+     * if duke.reminders is set to true, so that a script gives the same output whenever it is run.
+     * If duke.archive is true and commands come from the user, the tasks
+     * marked as done more than duke.archive.after days ago are moved into the archive once every task is
+     * loaded, and the first command waits until they are, so no task moves while commands refer to tasks
+     * by their numbers.
+     *
+     * @param filePath filepath to duke.txt
+     * @param isInteractive false when commands come from a script, which never archives tasks, so that the
+     *     task numbers in it always refer to the same tasks
+     */
+    public Duke(String filePath, boolean isInteractive) {
+        Storage.Format format = Storage.Format.valueOf(
+                System.getProperty("duke.storage.format", "text").toUpperCase());
+        Storage.Mode mode = Storage.Mode.valueOf(System.getProperty("duke.storage.mode", "snapshot").toUpperCase());
+        int compactThreshold = Integer.getInteger("duke.journal.threshold", Storage.DEFAULT_COMPACT_THRESHOLD);
+        long flushWindow = Long.getLong("duke.flush.window", Storage.DEFAULT_FLUSH_WINDOW_MILLIS);
+        FsyncPolicy fsyncPolicy = FsyncPolicy.parse(System.getProperty("duke.storage.fsync", "never"));
+        this.storage = new Storage(filePath, format, mode, compactThreshold, flushWindow, fsyncPolicy);
         this.parser = new Parser(storage);
+        if (Boolean.parseBoolean(System.getProperty("duke.metrics", "true"))) {
+            CommandMetrics metrics = new CommandMetrics();
+            metrics.register();
+            parser.setMetrics(metrics);
+        }
         this.ui = new Ui();
+        TaskList.Store store = TaskList.Store.valueOf(System.getProperty("duke.tasks.store", "objects").toUpperCase());
         try {
-            this.taskList = new TaskList(storage.readFile(), ui);
+            int firstCount = Integer.getInteger("duke.load.first", Storage.DEFAULT_FIRST_LOAD);
+            this.taskList = new TaskList(storage.readFirst(firstCount), ui, store);
+            storage.attach(taskList);
         } catch (IOException e) {
             System.out.println(e);
         }
+        boolean isReminding = Boolean.parseBoolean(System.getProperty("duke.reminders",
+                String.valueOf(isInteractive)));
+        if (taskList != null && isReminding) {
+            long leadMinutes = Long.getLong("duke.reminders.lead", ReminderScheduler.DEFAULT_LEAD_MINUTES);
+            reminders = new ReminderScheduler(taskList, leadMinutes, message -> reminderHandler.accept(message));
+            taskList.whenLoaded(reminders::start);
+        }
+        if (taskList != null && isInteractive && Boolean.getBoolean("duke.archive")) {
+            long archiveDays = Long.getLong("duke.archive.after", Storage.DEFAULT_ARCHIVE_DAYS);
+            archiving = CompletableFuture.runAsync(() ->
+                    storage.archive(taskList, LocalDateTime.now().minusDays(archiveDays)))
+                    .exceptionally(e -> {
+                        System.out.println("Error while archiving done tasks: " + e.getMessage());
+                        return null;
+                    });
+        }
+        Integer httpPort = Integer.getInteger("duke.http.port");
+        if (httpPort != null) {
+            try {
+                httpApi = new HttpApi(httpPort, this::getResponse);
+                httpApi.start();
+            } catch (IOException e) {
+                System.out.println("Error while starting HTTP API on port " + httpPort + ": " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -39,7 +114,52 @@ public class Duke {
      * @return the relevant response to user
      */
     public String getResponse(String userInput) {
+        archiving.join();
         String toReturn = parser.parse(userInput, taskList);
         return toReturn;
     }
+
+    /**
+     * Writes the response to the output instead of returning it. A list or find without a page number
+     * writes every task, one at a time, rather than only the first page.
+     *
+     * @param userInput users input
+     * @param out where the response is written
+     * @throws IOException if the output cannot be written
+     */
+    public void respond(String userInput, Appendable out) throws IOException {
+        archiving.join();
+        parser.parse(userInput, taskList, out);
+    }
+
+    /**
+     * Sets how many commands run between saves, see Parser#setSaveInterval
+     *
+     * @param saveInterval number of commands between saves
+     */
+    public void setSaveInterval(int saveInterval) {
+        parser.setSaveInterval(saveInterval);
+    }
+
+    /**
+     * Sets where reminders go, by default standard output. The handler is called on the reminder thread.
+     *
+     * @param reminderHandler receives each reminder
+     */
+    public void setReminderHandler(Consumer<String> reminderHandler) {
+        this.reminderHandler = reminderHandler;
+    }
+
+    /**
+     * Saves any pending changes before the application exits.
+     */
+    public void shutdown() {
+        if (reminders != null) {
+            reminders.stop();
+        }
+        if (httpApi != null) {
+            httpApi.stop();
+        }
+        storage.close();
+    }
 }
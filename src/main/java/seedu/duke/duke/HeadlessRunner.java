@@ -0,0 +1,134 @@
+package seedu.duke.duke;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Runs Duke without the GUI, reading one command per line from a script or from standard input.
+ * E.g. java -jar duke.jar --script commands.txt --save-every 1000
+ *      java -jar duke.jar --script - < commands.txt
+ * Responses go to a buffered standard output. List and find write every task one row at a time instead of
+ * showing a page, so memory use does not grow with the size of the list. The task file is only written every
+ * N commands (by default only once the script ends), so a long script is not slowed down by rewriting the file.
+ */
+public class HeadlessRunner {
+    public static final String SCRIPT_FLAG = "--script";
+    private static final String SAVE_EVERY_FLAG = "--save-every";
+    private static final String FILE_FLAG = "--file";
+    private static final String STDIN = "-";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Duke duke;
+
+    /**
+     * constructor for HeadlessRunner
+     *
+     * @param duke Duke to run the commands on
+     */
+    public HeadlessRunner(Duke duke) {
+        this.duke = duke;
+    }
+
+    /**
+     * Runs every command from the reader until the input ends or a bye command. If duke.reminders is true,
+     * reminders that come up meanwhile are written to the same output.
+     *
+     * @param in commands, one per line
+     * @param out where responses are written
+     * @return number of commands run
+     * @throws IOException if the commands cannot be read
+     */
+    public int run(BufferedReader in, PrintStream out) throws IOException {
+        int count = 0;
+        String line;
+        duke.setReminderHandler(reminder -> {
+            synchronized (out) {
+                out.println(reminder);
+                out.flush();
+            }
+        });
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            // a reminder is printed between responses, never in the middle of one
+            synchronized (out) {
+                duke.respond(line, out);
+                out.println();
+            }
+            count++;
+            if (line.trim().equalsIgnoreCase("bye")) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the program arguments ask for headless mode
+     *
+     * @param args program arguments
+     * @return true if the arguments contain --script
+     */
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(SCRIPT_FLAG)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        String script = STDIN;
+        String filePath = "data/duke.txt";
+        int saveInterval = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case SCRIPT_FLAG:
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        script = args[++i];
+                    }
+                    break;
+                case SAVE_EVERY_FLAG:
+                    saveInterval = Integer.parseInt(args[++i]);
+                    break;
+                case FILE_FLAG:
+                    filePath = args[++i];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: duke --script [file|-] [--save-every n] [--file path/to/duke.txt]");
+            System.exit(1);
+            return;
+        }
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                BUFFER_SIZE), false, StandardCharsets.UTF_8);
+        System.setOut(out);
+        Duke duke = new Duke(filePath, false);
+        duke.setSaveInterval(saveInterval);
+        try (BufferedReader in = script.equals(STDIN)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+            new HeadlessRunner(duke).run(in, out);
+        } catch (IOException e) {
+            System.err.println("Error while reading script: " + e.getMessage());
+        } finally {
+            duke.shutdown();
+            out.flush();
+        }
+    }
+}
@@ -4,9 +4,14 @@ import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * Runs without the GUI when given --script, see HeadlessRunner.
  */
 public class Launcher {
     public static void main(String[] args) {
+        if (HeadlessRunner.isRequested(args)) {
+            HeadlessRunner.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
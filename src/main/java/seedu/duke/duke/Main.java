@@ -14,6 +14,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Duke duke = new Duke("data/duke.txt");
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -25,10 +26,19 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Duke");
             stage.setResizable(false);
-            fxmlLoader.<MainWindow>getController().setDuke(duke);
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setDuke(duke);
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        duke.shutdown();
+    }
 }
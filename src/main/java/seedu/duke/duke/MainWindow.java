@@ -1,31 +1,50 @@
 package seedu.duke.duke;
 
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
+ * The conversation is shown in a ListView, which only creates dialog boxes for the messages on screen.
+ * At most duke.transcript.size messages are kept in memory. If duke.transcript.file is set, every message
+ * is also written to that file, and older messages are read back from it when scrolling up to the top.
+ * Commands run on a CommandRunner, so the window stays responsive while they parse, query and save. Until
+ * its response arrives, a command is listed in the pending label at the bottom of the conversation.
  */
 public class MainWindow extends AnchorPane {
+    private static final int DEFAULT_TRANSCRIPT_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Transcript.Message> conversationView;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private Label pendingLabel;
 
     private Duke duke;
+    private CommandRunner commandRunner;
+    private Transcript transcript;
+    private final Deque<String> pendingInputs = new ArrayDeque<>();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
@@ -35,34 +54,64 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void initialize() {
-        dialogContainer.heightProperty().addListener((observable) -> scrollPane.setVvalue(1.0));
-        dialogContainer.getChildren().addAll(
-                DialogBox.getDukeDialog("Hello! I'm Duke\n"
-                                + "What can I do for you?\n"
-                                + "Type 'help' to view available commands",
-                        dukeImage)
-        );
+        conversationView.setCellFactory(view -> new MessageCell(userImage, dukeImage));
+        conversationView.setFocusTraversable(false);
+        conversationView.skinProperty().addListener(observable -> watchScrollBar());
+        transcript = openTranscript(conversationView.getItems());
+        showPending();
+        addMessages(new Transcript.Message(false, "Hello! I'm Duke\n"
+                + "What can I do for you?\n"
+                + "Type 'help' to view available commands"));
     }
 
+    /**
+     * Sets the Duke instance running the commands
+     *
+     * @param d Duke instance
+     */
     public void setDuke(Duke d) {
         duke = d;
+        commandRunner = new CommandRunner(duke::getResponse, Platform::runLater);
+        duke.setReminderHandler(reminder -> Platform.runLater(() -> addMessages(
+                new Transcript.Message(false, reminder))));
+    }
+
+    /**
+     * Waits for the commands still running and closes the transcript file, if any
+     */
+    public void shutdown() {
+        if (commandRunner != null && !commandRunner.shutdown(SHUTDOWN_TIMEOUT_MILLIS)) {
+            System.out.println("Timed out waiting for commands to finish");
+        }
+        transcript.close();
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Queues the user input to be run and clears it. When the response arrives, adds two messages to the
+     * conversation, one echoing user input and the other containing Duke's reply.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        boolean isExit = input.trim().toLowerCase().equals("bye");
+        if (isExit) {
+            // no more commands after bye
+            userInput.setDisable(true);
+            sendButton.setDisable(true);
+        }
+        pendingInputs.addLast(input);
+        showPending();
+        commandRunner.submit(input, response -> showResponse(input, response, isExit));
+        userInput.clear();
+    }
+
+    private void showResponse(String input, String response, boolean isExit) {
+        pendingInputs.removeFirst();
+        showPending();
+        addMessages(new Transcript.Message(true, input), new Transcript.Message(false, response));
 
         // Closes the GUI
-        if (input.toLowerCase().equals("bye")) {
+        if (isExit) {
             TimerTask exitTask = new TimerTask() {
                 @Override
                 public void run() {
@@ -72,6 +121,52 @@ public class MainWindow extends AnchorPane {
             Timer timer = new Timer("Delay");
             timer.schedule(exitTask, 1200L);
         }
-        userInput.clear();
+    }
+
+    private void showPending() {
+        boolean isPending = !pendingInputs.isEmpty();
+        pendingLabel.setVisible(isPending);
+        if (isPending) {
+            int more = pendingInputs.size() - 1;
+            String others = more > 0 ? " (+" + more + " more)" : "";
+            pendingLabel.setText("Working on: " + pendingInputs.peekFirst() + others);
+        }
+    }
+
+    private void addMessages(Transcript.Message... messages) {
+        for (Transcript.Message message : messages) {
+            transcript.add(message);
+        }
+        conversationView.scrollTo(conversationView.getItems().size() - 1);
+    }
+
+    private static Transcript openTranscript(List<Transcript.Message> items) {
+        int capacity = Integer.getInteger("duke.transcript.size", DEFAULT_TRANSCRIPT_SIZE);
+        String filePath = System.getProperty("duke.transcript.file");
+        return new Transcript(items, capacity, filePath == null ? null : Path.of(filePath));
+    }
+
+    /**
+     * Pages older messages in from the transcript file when the view is scrolled to the top, and newer
+     * ones when it is scrolled back down to the bottom. The scroll bar only exists once the skin is set.
+     */
+    private void watchScrollBar() {
+        for (Node node : conversationView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar scrollBar = (ScrollBar) node;
+                scrollBar.valueProperty().addListener(observable -> pageMessages(scrollBar));
+            }
+        }
+    }
+
+    private void pageMessages(ScrollBar scrollBar) {
+        if (scrollBar.getValue() <= scrollBar.getMin() && transcript.hasOlder()) {
+            int loaded = transcript.loadOlder(PAGE_SIZE);
+            // keep the message that was at the top in view
+            conversationView.scrollTo(loaded);
+        } else if (scrollBar.getValue() >= scrollBar.getMax() && transcript.hasNewer()) {
+            int loaded = transcript.loadNewer(PAGE_SIZE);
+            conversationView.scrollTo(Math.max(0, conversationView.getItems().size() - loaded - 1));
+        }
     }
 }
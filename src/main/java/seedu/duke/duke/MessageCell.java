@@ -0,0 +1,51 @@
+package seedu.duke.duke;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Cell of the conversation view, showing one message as a DialogBox.
+ * The view only creates cells for the messages on screen and reuses them while scrolling, so each cell
+ * keeps one dialog box per speaker and only changes its text.
+ */
+class MessageCell extends ListCell<Transcript.Message> {
+    private final Image userImage;
+    private final Image dukeImage;
+    private DialogBox userDialog;
+    private DialogBox dukeDialog;
+
+    MessageCell(Image userImage, Image dukeImage) {
+        this.userImage = userImage;
+        this.dukeImage = dukeImage;
+        // let the dialog box wrap to the width of the view instead of showing a horizontal scroll bar
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Transcript.Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        setGraphic(message.isUser() ? userDialog(message.getText()) : dukeDialog(message.getText()));
+    }
+
+    private DialogBox userDialog(String text) {
+        if (userDialog == null) {
+            userDialog = DialogBox.getUserDialog(text, userImage);
+        } else {
+            userDialog.setMessage(text);
+        }
+        return userDialog;
+    }
+
+    private DialogBox dukeDialog(String text) {
+        if (dukeDialog == null) {
+            dukeDialog = DialogBox.getDukeDialog(text, dukeImage);
+        } else {
+            dukeDialog.setMessage(text);
+        }
+        return dukeDialog;
+    }
+}
@@ -0,0 +1,297 @@
+package seedu.duke.duke;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Messages of the conversation shown in the GUI.
+ * Only a window of at most `capacity` messages is kept in memory, in the list given to the constructor,
+ * which the view displays. Messages falling out of the window are dropped, unless a transcript file is
+ * given: every message is then also written to the file, and the window can be moved back over older
+ * messages, and forward again, by reading them from it.
+ */
+public class Transcript {
+    private static final char USER = 'U';
+    private static final char DUKE = 'D';
+
+    private final List<Message> window;
+    private final int capacity;
+    private RandomAccessFile file;
+    private long[] offsets = new long[64];
+    private int total;
+    private int start;
+
+    /**
+     * constructor for Transcript
+     *
+     * @param window list holding the messages in memory, e.g. the items of a ListView
+     * @param capacity maximum number of messages kept in memory
+     * @param filePath file to write the messages to, which is emptied first, or null to keep none
+     */
+    public Transcript(List<Message> window, int capacity, Path filePath) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Transcript capacity must be positive: " + capacity);
+        }
+        this.window = window;
+        this.capacity = capacity;
+        if (filePath == null) {
+            return;
+        }
+        try {
+            if (filePath.getParent() != null) {
+                filePath.getParent().toFile().mkdirs();
+            }
+            file = new RandomAccessFile(filePath.toFile(), "rw");
+            file.setLength(0);
+        } catch (IOException e) {
+            System.out.println("Error while opening transcript, older messages will be dropped: " + e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * A message from the user or from Duke
+     */
+    public static class Message {
+        private final boolean isUser;
+        private final String text;
+
+        /**
+         * constructor for Message
+         *
+         * @param isUser true if the user sent it, false if Duke did
+         * @param text text of the message
+         */
+        public Message(boolean isUser, String text) {
+            this.isUser = isUser;
+            this.text = text;
+        }
+
+        public boolean isUser() {
+            return isUser;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Adds a message at the end of the conversation, moving the window back to the end first if it was
+     * moved over older messages, and dropping the oldest messages from memory if it is full
+     *
+     * @param message message to add
+     */
+    public void add(Message message) {
+        if (hasNewer()) {
+            showLatest();
+        }
+        if (file != null) {
+            write(message);
+        }
+        total++;
+        window.add(message);
+        trimFront();
+    }
+
+    /**
+     * Returns the total number of messages in the conversation, including those not in memory
+     */
+    public int size() {
+        return total;
+    }
+
+    /**
+     * Returns the position in the conversation of the first message in memory
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns true if there are older messages before the window that can be read back
+     */
+    public boolean hasOlder() {
+        return file != null && start > 0;
+    }
+
+    /**
+     * Returns true if the window was moved back and there are newer messages after it
+     */
+    public boolean hasNewer() {
+        return start + window.size() < total;
+    }
+
+    /**
+     * Moves the window back, reading up to count older messages from the transcript file and dropping as
+     * many of the newest messages from memory as needed to stay within capacity
+     *
+     * @param count number of messages to read
+     * @return the number of messages read
+     */
+    public int loadOlder(int count) {
+        int loaded = Math.min(count, hasOlder() ? start : 0);
+        if (loaded == 0) {
+            return 0;
+        }
+        List<Message> older = read(start - loaded, start);
+        if (older == null) {
+            return 0;
+        }
+        window.addAll(0, older);
+        start -= loaded;
+        if (window.size() > capacity) {
+            window.subList(capacity, window.size()).clear();
+        }
+        return loaded;
+    }
+
+    /**
+     * Moves the window forward, reading up to count newer messages from the transcript file and dropping
+     * as many of the oldest messages from memory as needed to stay within capacity
+     *
+     * @param count number of messages to read
+     * @return the number of messages read
+     */
+    public int loadNewer(int count) {
+        int end = start + window.size();
+        int loaded = Math.min(count, total - end);
+        if (loaded <= 0 || file == null) {
+            return 0;
+        }
+        List<Message> newer = read(end, end + loaded);
+        if (newer == null) {
+            return 0;
+        }
+        window.addAll(newer);
+        trimFront();
+        return loaded;
+    }
+
+    /**
+     * Moves the window back to the newest messages
+     */
+    public void showLatest() {
+        if (start + window.size() < total - capacity) {
+            window.clear();
+            start = total - capacity;
+        }
+        loadNewer(total - start - window.size());
+        if (hasNewer()) {
+            // the newer messages could not be read, start again from the end of the conversation
+            window.clear();
+            start = total;
+        }
+    }
+
+    /**
+     * Closes the transcript file
+     */
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            System.out.println("Error while closing transcript: " + e.getMessage());
+        }
+        file = null;
+    }
+
+    private void trimFront() {
+        int excess = window.size() - capacity;
+        if (excess > 0) {
+            window.subList(0, excess).clear();
+            start += excess;
+        }
+    }
+
+    private void write(Message message) {
+        byte[] bytes = encode(message).getBytes(StandardCharsets.UTF_8);
+        if (total + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        try {
+            file.seek(offsets[total]);
+            file.write(bytes);
+            offsets[total + 1] = offsets[total] + bytes.length;
+        } catch (IOException e) {
+            // keep the conversation going in memory only
+            System.out.println("Error while writing transcript, older messages will be dropped: " + e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Reads the messages at positions [from, to) from the transcript file
+     *
+     * @return the messages, or null if they could not be read
+     */
+    private List<Message> read(int from, int to) {
+        byte[] bytes = new byte[(int) (offsets[to] - offsets[from])];
+        try {
+            file.seek(offsets[from]);
+            file.readFully(bytes);
+        } catch (IOException e) {
+            System.out.println("Error while reading transcript: " + e.getMessage());
+            return null;
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        List<Message> messages = new ArrayList<>(to - from);
+        int lineStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                messages.add(decode(text, lineStart, i));
+                lineStart = i + 1;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Writes a message on one line, starting with who sent it, with backslashes and line breaks escaped
+     */
+    private static String encode(Message message) {
+        String text = message.getText();
+        StringBuilder line = new StringBuilder(text.length() + 2).append(message.isUser() ? USER : DUKE);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\r':
+                line.append("\\r");
+                break;
+            default:
+                line.append(c);
+                break;
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private static Message decode(String text, int from, int to) {
+        StringBuilder message = new StringBuilder(to - from);
+        for (int i = from + 1; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                i++;
+                char escaped = text.charAt(i);
+                message.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                message.append(c);
+            }
+        }
+        return new Message(text.charAt(from) == USER, message.toString());
+    }
+}
@@ -2,13 +2,12 @@ package seedu.duke.tasks;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Deadline class
  */
 public class Deadline extends Task {
-    private LocalDateTime byDate;
+    private final long by;
 
     /**
      * Deadline constructor
@@ -18,8 +17,31 @@ public class Deadline extends Task {
      * @param isMarked is task marked
      */
     public Deadline(String description, LocalDateTime byDate, boolean isMarked) {
-        super(description, isMarked);
-        this.byDate = byDate;
+        this(description, toEpochMinute(byDate), isMarked);
+    }
+
+    /**
+     * Deadline constructor
+     *
+     * @param description user input
+     * @param by dateline of task, in minutes since 1970-01-01 00:00
+     * @param isMarked is task marked
+     */
+    public Deadline(String description, long by, boolean isMarked) {
+        this(description, by, isMarked, 0);
+    }
+
+    /**
+     * Deadline constructor
+     *
+     * @param description user input
+     * @param by dateline of task, in minutes since 1970-01-01 00:00
+     * @param isMarked is task marked
+     * @param id ID of the task
+     */
+    public Deadline(String description, long by, boolean isMarked, long id) {
+        super(description, isMarked, id);
+        this.by = by;
     }
 
     /**
@@ -29,17 +51,34 @@ public class Deadline extends Task {
      */
     public String writeFormat() {
         int done = super.isMarked() ? 1 : 0;
-        String formattedDate = byDate.format(super.timeFormat);
+        String formattedDate = getByDateTime().format(STORAGE_FORMAT);
         return "D" + " | " + done + " | " + super.getDescription() + " | " + formattedDate;
     }
 
     public LocalDate getByDate() {
-        return this.byDate.toLocalDate();
+        return getByDateTime().toLocalDate();
+    }
+
+    public LocalDateTime getByDateTime() {
+        return fromEpochMinute(by);
+    }
+
+    public long getByEpochMinute() {
+        return by;
+    }
+
+    @Override
+    public Task withMarked(boolean isMarked) {
+        return new Deadline(getDescription(), by, isMarked, getId());
+    }
+
+    @Override
+    public Task withId(long id) {
+        return new Deadline(getDescription(), by, isMarked(), id);
     }
 
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: "
-                + byDate.format(DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm")) + ")";
+        return "[D]" + super.toString() + " (by: " + getByDateTime().format(DISPLAY_FORMAT) + ")";
     }
 }
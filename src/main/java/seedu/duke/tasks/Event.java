@@ -1,15 +1,14 @@
 package seedu.duke.tasks;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Event class
  */
 public class Event extends Task {
 
-    private LocalDateTime from;
-    private LocalDateTime to;
+    private final long from;
+    private final long to;
 
     /**
      * Event constructor.
@@ -20,7 +19,32 @@ public class Event extends Task {
      * @param isMarked if task is already marked
      */
     public Event(String description, LocalDateTime from, LocalDateTime to, boolean isMarked) {
-        super(description, isMarked); // initializes its task
+        this(description, toEpochMinute(from), toEpochMinute(to), isMarked);
+    }
+
+    /**
+     * Event constructor.
+     *
+     * @param description user input
+     * @param from date, in minutes since 1970-01-01 00:00
+     * @param to date, in minutes since 1970-01-01 00:00
+     * @param isMarked if task is already marked
+     */
+    public Event(String description, long from, long to, boolean isMarked) {
+        this(description, from, to, isMarked, 0);
+    }
+
+    /**
+     * Event constructor.
+     *
+     * @param description user input
+     * @param from date, in minutes since 1970-01-01 00:00
+     * @param to date, in minutes since 1970-01-01 00:00
+     * @param isMarked if task is already marked
+     * @param id ID of the task
+     */
+    public Event(String description, long from, long to, boolean isMarked, long id) {
+        super(description, isMarked, id); // initializes its task
         this.from = from;
         this.to = to;
     }
@@ -35,20 +59,42 @@ public class Event extends Task {
         if (super.isMarked()) {
             done = 1;
         }
-        String formattedDateFrom = from.format(super.timeFormat);
-        String formattedDateTo = to.format(super.timeFormat);
+        String formattedDateFrom = getFromDate().format(STORAGE_FORMAT);
+        String formattedDateTo = getToDate().format(STORAGE_FORMAT);
         return "E" + " | " + done + " | " + super.getDescription()
                 + " | " + formattedDateFrom + " | " + formattedDateTo;
     };
 
     public LocalDateTime getFromDate() {
-        return this.from;
+        return fromEpochMinute(from);
+    }
+
+    public LocalDateTime getToDate() {
+        return fromEpochMinute(to);
+    }
+
+    public long getFromEpochMinute() {
+        return from;
+    }
+
+    public long getToEpochMinute() {
+        return to;
+    }
+
+    @Override
+    public Task withMarked(boolean isMarked) {
+        return new Event(getDescription(), from, to, isMarked, getId());
+    }
+
+    @Override
+    public Task withId(long id) {
+        return new Event(getDescription(), from, to, isMarked(), id);
     }
 
     @Override
     public String toString() {
         return "[E]" + super.toString()
-                + " (from:" + from.format(DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm"))
-                + " to:" + to.format(DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm")) + ")";
+                + " (from:" + getFromDate().format(DISPLAY_FORMAT)
+                + " to:" + getToDate().format(DISPLAY_FORMAT) + ")";
     }
 }
@@ -1,15 +1,29 @@
 package seedu.duke.tasks;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Task class
+ * Tasks are kept small, as a list can hold millions of them: the formatters are shared, and Deadline and
+ * Event keep their dates as minutes since 1970-01-01 00:00 instead of LocalDateTime objects.
+ * If the duke.tasks.intern system property is true, descriptions are interned, so tasks with the
+ * same description share one String.
+ * A task gets its ID when it is added to a TaskList: a positive number that stays with the task until it
+ * is deleted, whatever happens to the tasks before it. Tasks not in a list yet have ID 0.
  */
 public abstract class Task {
-    public final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    /** Format of dates in duke.txt and in commands */
+    public static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    /** Format of dates shown to the user */
+    public static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
 
-    private String description;
+    private static final boolean IS_INTERNING = Boolean.getBoolean("duke.tasks.intern");
+
+    private final String description;
     private boolean isMarked;
+    private final long id;
 
     /**
      * Task constructor
@@ -18,8 +32,40 @@ public abstract class Task {
      * @param isMarked is task is marked
      */
     public Task(String description, boolean isMarked) {
-        this.description = description;
+        this(description, isMarked, 0);
+    }
+
+    /**
+     * Task constructor
+     *
+     * @param description user input
+     * @param isMarked is task is marked
+     * @param id ID of the task, or 0 if it has none yet
+     */
+    public Task(String description, boolean isMarked, long id) {
+        this.description = IS_INTERNING ? description.intern() : description;
         this.isMarked = isMarked;
+        this.id = id;
+    }
+
+    /**
+     * Converts a date and time to minutes since 1970-01-01 00:00, dropping any seconds
+     *
+     * @param dateTime date and time to convert
+     * @return minutes since the epoch
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts minutes since 1970-01-01 00:00 back to a date and time
+     *
+     * @param epochMinute minutes since the epoch
+     * @return the date and time
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
     }
 
     private String getStatusIcon() {
@@ -28,6 +74,22 @@ public abstract class Task {
 
     public abstract String writeFormat();
 
+    /**
+     * Returns a copy of this task with the given marked state, leaving this task unchanged
+     *
+     * @param isMarked marked state of the copy
+     * @return the copy
+     */
+    public abstract Task withMarked(boolean isMarked);
+
+    /**
+     * Returns a copy of this task with the given ID, leaving this task unchanged
+     *
+     * @param id ID of the copy
+     * @return the copy
+     */
+    public abstract Task withId(long id);
+
     public void mark() {
         isMarked = !isMarked;
     }
@@ -40,6 +102,10 @@ public abstract class Task {
         return description;
     }
 
+    public long getId() {
+        return id;
+    }
+
     @Override
     public String toString() {
         return getStatusIcon() + " " + description;
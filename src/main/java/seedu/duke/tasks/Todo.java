@@ -15,6 +15,17 @@ public class Todo extends Task {
         super(description, isMarked); // initializes its task
     }
 
+    /**
+     * Todo constructor
+     *
+     * @param description user input
+     * @param isMarked is task marked
+     * @param id ID of the task
+     */
+    public Todo(String description, boolean isMarked, long id) {
+        super(description, isMarked, id);
+    }
+
     /**
      * formats task for storage in duke.txt
      *
@@ -28,6 +39,16 @@ public class Todo extends Task {
         return "T" + " | " + done + " | " + super.getDescription();
     };
 
+    @Override
+    public Task withMarked(boolean isMarked) {
+        return new Todo(getDescription(), isMarked, getId());
+    }
+
+    @Override
+    public Task withId(long id) {
+        return new Todo(getDescription(), isMarked(), id);
+    }
+
     @Override
     public String toString() {
         return "[T]" + super.toString();
@@ -1,5 +1,6 @@
 package seedu.duke.ui;
 
+import java.io.IOException;
 import java.util.List;
 
 import seedu.duke.tasks.Task;
@@ -15,13 +16,21 @@ public class Ui {
      */
     public static String help() {
         return "Commands are:\n\n"
-                + "list - displays current list\n"
+                + "list - displays current list, a page at a time (list 2 for page 2), or list archived tasks\n"
+                + "more - shows the next page of list or find\n"
                 + "todo - adds a task to do\n"
                 + "deadline - adds a task with deadline\n"
                 + "event - adds a upcoming event\n"
-                + "delete - removes specified index\n"
+                + "delete - removes specified index, range (delete 5-9), list (delete 1,4,9), ID (delete #37)"
+                + " or done tasks\n"
+                + "mark, unmark - marks tasks as done or not done, by index, range, list or ID\n"
                 + "checkdate - tasks on specified date\n"
-                + "find - task with specified keyword\n"
+                + "between - tasks between two dates\n"
+                + "find - tasks containing specified keyword, find --prefix to match the start of words"
+                + " (find --prefix ret to), find --all to include archived tasks\n"
+                + "search - closest tasks to a description, typos allowed (search --top 5 reprot)\n"
+                + "upcoming - next deadlines and events not done yet (upcoming 5 for the next 5)\n"
+                + "stats - time taken by each command, stats reset to start over\n"
                 + "bye - exit program";
     }
 
@@ -37,18 +46,87 @@ public class Ui {
      * @param taskList task list to print
      */
     public String printTasksOnDateOrKeyword(List<Task> taskList) {
-        StringBuilder showFindDetailsString = new StringBuilder("Here are the matching tasks in your list:\n");
+        return render(out -> writeTasksOnDateOrKeyword(taskList, out));
+    }
 
+    /**
+     * Writes the Tasks of a specific date or keyword to the output one row at a time, so the whole
+     * response is never held in memory
+     *
+     * @param taskList task list to print
+     * @param out where the tasks are written
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTasksOnDateOrKeyword(List<Task> taskList, Appendable out) throws IOException {
+        out.append("Here are the matching tasks in your list:\n");
         if (taskList.isEmpty()) {
             System.out.println("You have no tasks.\n");
         } else {
-            showFindDetailsString.append(taskList.size() + " tasks: \n");
+            out.append(Integer.toString(taskList.size())).append(" tasks: \n");
+            writeRows(taskList, 0, taskList.size(), out);
+        }
+    }
+
+    /**
+     * Prints one page of the matching tasks, numbered from 1 across all pages
+     *
+     * @param taskList all matching tasks
+     * @param page page to print, from 1
+     * @param pageSize number of tasks on a page
+     */
+    public String printMatchingPage(List<Task> taskList, int page, int pageSize) {
+        if (taskList.size() <= pageSize) {
+            return printTasksOnDateOrKeyword(taskList);
+        }
+        return render(out -> {
+            out.append("Here are the matching tasks in your list:\n");
+            out.append(Integer.toString(taskList.size())).append(" tasks, page ").append(Integer.toString(page))
+                    .append(" of ").append(Integer.toString(pageCount(taskList.size(), pageSize))).append(": \n");
+            writePage(taskList, page, pageSize, out);
+        });
+    }
+
+    /**
+     * Prints the closest matches of a search, best first, with their IDs so they can be marked or deleted
+     *
+     * @param taskList closest tasks, best first
+     */
+    public String printSearchResults(List<Task> taskList) {
+        if (taskList.isEmpty()) {
+            return "No task is close enough to that.\n";
+        }
+        return render(out -> {
+            out.append("Here are the closest matches in your list:\n");
             for (int i = 0; i < taskList.size(); i++) {
                 Task task = taskList.get(i);
-                showFindDetailsString.append((i + 1) + ". " + task + "\n");
+                out.append(Integer.toString(i + 1)).append(". #").append(Long.toString(task.getId())).append(' ')
+                        .append(task.toString()).append('\n');
             }
+        });
+    }
+
+    /**
+     * Prints the next deadlines and events that are not done yet, soonest first
+     *
+     * @param taskList upcoming tasks, soonest first
+     */
+    public String printUpcoming(List<Task> taskList) {
+        if (taskList.isEmpty()) {
+            return "Nothing coming up.\n";
         }
-        return showFindDetailsString.toString();
+        return render(out -> {
+            out.append("Here is what is coming up next:\n");
+            writeRows(taskList, 0, taskList.size(), out);
+        });
+    }
+
+    /**
+     * Prints a reminder of a deadline or event that is coming up
+     *
+     * @param task task to remind of
+     */
+    public String printReminder(Task task) {
+        return "Reminder, coming up: #" + task.getId() + " " + task + "\n";
     }
 
     /**
@@ -58,10 +136,9 @@ public class Ui {
      * @param taskList TaskList to operate on
      */
     public String printAddingTask(Task task, List<Task> taskList) {
-        String message = String.format("Got it. I've added this task:\n  "
+        return "Got it. I've added this task as #" + task.getId() + ":\n  "
                 + task
-                + "\nNow you have %s tasks in the list\n", taskList.size());
-        return message;
+                + "\nNow you have " + taskList.size() + " tasks in the list\n";
     }
 
     /**
@@ -70,17 +147,160 @@ public class Ui {
      * @param taskList TaskList to operate on
      */
     public String printAllTasks(List<Task> taskList) {
-        StringBuilder showAllTasks = new StringBuilder("Here are your tasks:\n");
+        return render(out -> writeAllTasks(taskList, out));
+    }
 
+    /**
+     * Writes all Tasks in a given TaskList to the output one row at a time, so the whole response is
+     * never held in memory
+     *
+     * @param taskList TaskList to operate on
+     * @param out where the tasks are written
+     * @throws IOException if the output cannot be written
+     */
+    public void writeAllTasks(List<Task> taskList, Appendable out) throws IOException {
+        out.append("Here are your tasks:\n");
         if (taskList.isEmpty()) {
             System.out.println("You have no tasks.\n");
         } else {
-            for (int i = 0; i < taskList.size(); i++) {
-                Task task = taskList.get(i);
-                showAllTasks.append((i + 1) + ". " + task + "\n");
+            writeRows(taskList, 0, taskList.size(), out);
+        }
+    }
+
+    /**
+     * Prints one page of the Tasks in a given TaskList, numbered by their index in the list
+     *
+     * @param taskList TaskList to operate on
+     * @param page page to print, from 1
+     * @param pageSize number of tasks on a page
+     */
+    public String printTaskPage(List<Task> taskList, int page, int pageSize) {
+        if (taskList.size() <= pageSize) {
+            return printAllTasks(taskList);
+        }
+        return render(out -> {
+            int from = (page - 1) * pageSize;
+            int to = Math.min(from + pageSize, taskList.size());
+            out.append("Here are your tasks, page ").append(Integer.toString(page)).append(" of ")
+                    .append(Integer.toString(pageCount(taskList.size(), pageSize))).append(" (")
+                    .append(Integer.toString(from + 1)).append('-').append(Integer.toString(to)).append(" of ")
+                    .append(Integer.toString(taskList.size())).append("):\n");
+            writePage(taskList, page, pageSize, out);
+        });
+    }
+
+    /**
+     * Prints one page of the archived Tasks, with their IDs, as their index is not one in the list
+     *
+     * @param taskList archived tasks
+     * @param page page to print, from 1
+     * @param pageSize number of tasks on a page
+     */
+    public String printArchivedPage(List<Task> taskList, int page, int pageSize) {
+        if (taskList.isEmpty()) {
+            return "No task has been archived yet.\n";
+        }
+        return render(out -> {
+            out.append("Here are your archived tasks");
+            if (taskList.size() > pageSize) {
+                out.append(", page ").append(Integer.toString(page)).append(" of ")
+                        .append(Integer.toString(pageCount(taskList.size(), pageSize)));
+            }
+            out.append(":\n");
+            int from = (page - 1) * pageSize;
+            writeArchivedRows(taskList, from, Math.min(from + pageSize, taskList.size()), out);
+            if (page < pageCount(taskList.size(), pageSize)) {
+                out.append("Type `more` for the next page\n");
             }
+        });
+    }
+
+    /**
+     * Writes all archived Tasks to the output one row at a time
+     *
+     * @param taskList archived tasks
+     * @param out where the tasks are written
+     * @throws IOException if the output cannot be written
+     */
+    public void writeArchivedTasks(List<Task> taskList, Appendable out) throws IOException {
+        if (taskList.isEmpty()) {
+            out.append("No task has been archived yet.\n");
+        } else {
+            out.append("Here are your archived tasks:\n");
+            writeArchivedRows(taskList, 0, taskList.size(), out);
+        }
+    }
+
+    /**
+     * Prints one page of the first Tasks of a TaskList that is still loading, numbered by their index in
+     * the list. The page has to be among the tasks already loaded; the total is not known yet.
+     *
+     * @param taskList tasks loaded so far
+     * @param page page to print, from 1
+     * @param pageSize number of tasks on a page
+     */
+    public String printLoadingPage(List<Task> taskList, int page, int pageSize) {
+        return render(out -> {
+            int from = (page - 1) * pageSize;
+            int to = from + pageSize;
+            out.append("Here are your tasks ").append(Integer.toString(from + 1)).append('-')
+                    .append(Integer.toString(to)).append(", the rest are still loading:\n");
+            writeRows(taskList, from, to, out);
+            out.append("Type `more` for the next page\n");
+        });
+    }
+
+    /**
+     * Returns the number of pages needed to show all tasks, at least 1
+     *
+     * @param size number of tasks
+     * @param pageSize number of tasks on a page
+     * @return number of pages
+     */
+    public static int pageCount(int size, int pageSize) {
+        return Math.max(1, (int) ((size + (long) pageSize - 1) / pageSize));
+    }
+
+    private static void writePage(List<Task> taskList, int page, int pageSize, Appendable out) throws IOException {
+        int from = (page - 1) * pageSize;
+        writeRows(taskList, from, Math.min(from + pageSize, taskList.size()), out);
+        if (page < pageCount(taskList.size(), pageSize)) {
+            out.append("Type `more` for the next page\n");
+        }
+    }
+
+    private static void writeRows(List<Task> taskList, int from, int to, Appendable out) throws IOException {
+        for (int i = from; i < to; i++) {
+            out.append(Integer.toString(i + 1)).append(". ").append(taskList.get(i).toString()).append('\n');
+        }
+    }
+
+    private static void writeArchivedRows(List<Task> taskList, int from, int to, Appendable out) throws IOException {
+        for (int i = from; i < to; i++) {
+            Task task = taskList.get(i);
+            out.append(Integer.toString(i + 1)).append(". #").append(Long.toString(task.getId())).append(' ')
+                    .append(task.toString()).append('\n');
+        }
+    }
+
+    /**
+     * Collects what a writer writes into a String
+     */
+    private static String render(Writing writing) {
+        StringBuilder text = new StringBuilder();
+        try {
+            writing.writeTo(text);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
         }
-        return showAllTasks.toString();
+        return text.toString();
+    }
+
+    /**
+     * Writes a response to an Appendable
+     */
+    private interface Writing {
+        void writeTo(Appendable out) throws IOException;
     }
 
     /**
@@ -118,4 +338,45 @@ public class Ui {
             return "Error! Task already unmarked\n";
         }
     }
+
+    /**
+     * prints a summary after deleting several tasks at once
+     *
+     * @param count number of tasks deleted
+     * @param remaining number of tasks left in the list
+     */
+    public String printDeleteTasks(int count, int remaining) {
+        return "Noted. I've removed " + countOf(count) + ".\nNow you have " + countOf(remaining) + " in the list.\n";
+    }
+
+    /**
+     * prints a summary after marking several tasks at once
+     *
+     * @param count number of tasks marked
+     * @param unchangedCount number of selected tasks that were already marked
+     */
+    public String printMarkTasks(int count, int unchangedCount) {
+        return "Nice! I've marked " + countOf(count) + " as done.\n" + already(unchangedCount, "done");
+    }
+
+    /**
+     * prints a summary after unmarking several tasks at once
+     *
+     * @param count number of tasks unmarked
+     * @param unchangedCount number of selected tasks that were already unmarked
+     */
+    public String printUnMarkTasks(int count, int unchangedCount) {
+        return "I've unmarked " + countOf(count) + ".\n" + already(unchangedCount, "not done");
+    }
+
+    private static String countOf(int count) {
+        return count + (count == 1 ? " task" : " tasks");
+    }
+
+    private static String already(int count, String state) {
+        if (count == 0) {
+            return "";
+        }
+        return count + (count == 1 ? " was" : " were") + " already " + state + ".\n";
+    }
 }
@@ -0,0 +1,193 @@
+package seedu.duke.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+
+/**
+ * Compact binary snapshot of a TaskList, read back through a memory mapped buffer.
+ * The file starts with the magic number "DUKB", a format version byte and the number of tasks.
+ * Each task is then stored as
+ *      flags byte     - task type in the low bits, marked in the high bit, has an ID in the bit below it
+ *      ID             - long, only if the task has an ID other than the one after the ID of the task before
+ *      dates          - epoch minutes, none for a todo, by for a deadline, from and to for an event
+ *      description    - int length followed by the UTF-8 bytes
+ * Version 1 snapshots, written before tasks had IDs, are read as well. A snapshot can be read a part at a
+ * time, e.g. the first tasks before the rest.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x44554B42;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final byte TYPE_MASK = 0x03;
+    private static final byte MARKED = (byte) 0x80;
+    private static final byte HAS_ID = 0x40;
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Encodes the tasks into the binary snapshot format
+     *
+     * @param tasks tasks to encode
+     * @return snapshot bytes
+     */
+    public static byte[] encode(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(32, tasks.size() * 32));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(tasks.size());
+            long id = 0;
+            for (Task task : tasks) {
+                long previousId = id;
+                id = TaskList.idAfter(previousId, task);
+                boolean hasId = id != previousId + 1;
+                int flags = (task.isMarked() ? MARKED : 0) | (hasId ? HAS_ID : 0);
+                if (task instanceof Deadline) {
+                    writeFlagsAndId(out, DEADLINE | flags, hasId, id);
+                    out.writeLong(((Deadline) task).getByEpochMinute());
+                } else if (task instanceof Event) {
+                    Event event = (Event) task;
+                    writeFlagsAndId(out, EVENT | flags, hasId, id);
+                    out.writeLong(event.getFromEpochMinute());
+                    out.writeLong(event.getToEpochMinute());
+                } else {
+                    writeFlagsAndId(out, TODO | flags, hasId, id);
+                }
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(description.length);
+                out.write(description);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("ByteArrayOutputStream does not throw", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFlagsAndId(DataOutputStream out, int flags, boolean hasId, long id) throws IOException {
+        out.writeByte(flags);
+        if (hasId) {
+            out.writeLong(id);
+        }
+    }
+
+    /**
+     * Reads all tasks from a binary snapshot by mapping the file into memory
+     *
+     * @param path snapshot file
+     * @return tasks in the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static List<Task> read(Path path) throws IOException {
+        return open(path).read(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maps a binary snapshot into memory to read its tasks a part at a time
+     *
+     * @param path snapshot file
+     * @return reader positioned at the first task
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static Reader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("Not a duke snapshot");
+                }
+                byte version = buffer.get();
+                if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+                    throw new IOException("Unknown snapshot version " + version);
+                }
+                return new Reader(buffer, buffer.getInt());
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot is truncated");
+            }
+        }
+    }
+
+    /**
+     * Tasks of a mapped snapshot that have not been read yet
+     */
+    public static class Reader {
+        private final ByteBuffer buffer;
+        private int remaining;
+
+        private Reader(ByteBuffer buffer, int remaining) {
+            this.buffer = buffer;
+            this.remaining = remaining;
+        }
+
+        /**
+         * Reads the next tasks
+         *
+         * @param count most tasks to read
+         * @return the tasks, fewer than count if the snapshot has no more
+         * @throws IOException if the snapshot is not valid
+         */
+        public List<Task> read(int count) throws IOException {
+            int readCount = Math.min(count, remaining);
+            remaining -= readCount;
+            return decode(buffer, readCount);
+        }
+    }
+
+    private static List<Task> decode(ByteBuffer buffer, int count) throws IOException {
+        try {
+            List<Task> tasks = new ArrayList<>(count);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < count; i++) {
+                byte flags = buffer.get();
+                boolean isMarked = (flags & MARKED) != 0;
+                int type = flags & TYPE_MASK;
+                long id = (flags & HAS_ID) != 0 ? buffer.getLong() : 0;
+                long first = type == TODO ? 0 : buffer.getLong();
+                long second = type == EVENT ? buffer.getLong() : 0;
+                int length = buffer.getInt();
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buffer.get(scratch, 0, length);
+                String description = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                switch (type) {
+                case TODO:
+                    tasks.add(new Todo(description, isMarked, id));
+                    break;
+                case DEADLINE:
+                    tasks.add(new Deadline(description, first, isMarked, id));
+                    break;
+                case EVENT:
+                    tasks.add(new Event(description, first, second, isMarked, id));
+                    break;
+                default:
+                    throw new IOException("Unknown task type " + type + " in snapshot");
+                }
+            }
+            return tasks;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot is truncated");
+        }
+    }
+}
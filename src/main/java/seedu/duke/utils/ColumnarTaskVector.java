@@ -0,0 +1,224 @@
+package seedu.duke.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+
+/**
+ * TaskVector holding no Task objects. Each chunk of CHUNK_SIZE tasks keeps their fields in arrays, one per
+ * field: the type, the marked bits, the sequence number, the reference to the description in a shared
+ * DescriptionArena, and the dates in minutes since 1970-01-01 00:00 (by for a deadline, from and to for
+ * an event). get creates a Todo, Deadline or Event from them, so tasks only exist while they are used.
+ * As in ObjectTaskVector, updates copy only the arrays they change and appends write in place.
+ * A vector shares its arena with the vectors it was made from. The descriptions of deleted tasks stay in
+ * the arena until the vector is compacted, which copies the remaining ones into the arena of a new vector.
+ */
+class ColumnarTaskVector extends TaskVector {
+    private static final int SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+
+    private final DescriptionArena arena;
+    private final Chunk[] chunks;
+    private final int size;
+
+    private ColumnarTaskVector(DescriptionArena arena, Chunk[] chunks, int size) {
+        this.arena = arena;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty vector with an arena of its own
+     */
+    static ColumnarTaskVector empty() {
+        return new ColumnarTaskVector(new DescriptionArena(), new Chunk[0], 0);
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Task get(int index) {
+        Chunk chunk = chunks[index >>> SHIFT];
+        int i = index & MASK;
+        String description = arena.get(chunk.descriptions[i]);
+        boolean isMarked = chunk.marked.get(i);
+        long id = chunk.sequences[i];
+        switch (chunk.types[i]) {
+        case DEADLINE:
+            return new Deadline(description, chunk.starts[i], isMarked, id);
+        case EVENT:
+            return new Event(description, chunk.starts[i], chunk.ends[i], isMarked, id);
+        default:
+            return new Todo(description, isMarked, id);
+        }
+    }
+
+    @Override
+    long sequence(int index) {
+        return chunks[index >>> SHIFT].sequences[index & MASK];
+    }
+
+    @Override
+    TaskVector append(Task task) {
+        int chunkIndex = size >>> SHIFT;
+        Chunk[] newChunks = chunks;
+        if ((size & MASK) == 0) {
+            if (chunkIndex == chunks.length) {
+                newChunks = Arrays.copyOf(chunks, Math.max(4, chunkIndex * 2));
+            }
+            newChunks[chunkIndex] = new Chunk();
+        }
+        Chunk chunk = newChunks[chunkIndex];
+        int i = size & MASK;
+        chunk.sequences[i] = task.getId();
+        chunk.descriptions[i] = arena.add(task.getDescription());
+        writeFields(chunk, i, task);
+        return new ColumnarTaskVector(arena, newChunks, size + 1);
+    }
+
+    /**
+     * Copies only the columns that change, so marking a task copies the marked bits of its chunk and
+     * nothing else
+     */
+    @Override
+    TaskVector set(int index, Task task) {
+        Chunk chunk = chunks[index >>> SHIFT];
+        int i = index & MASK;
+        Chunk newChunk = new Chunk(chunk);
+        if (chunk.marked.get(i) != task.isMarked()) {
+            newChunk.marked = (BitSet) chunk.marked.clone();
+            newChunk.marked.set(i, task.isMarked());
+        }
+        if (!arena.get(chunk.descriptions[i]).equals(task.getDescription())) {
+            newChunk.descriptions = chunk.descriptions.clone();
+            newChunk.descriptions[i] = arena.add(task.getDescription());
+        }
+        if (chunk.types[i] != typeOf(task) || chunk.starts[i] != startOf(task) || chunk.ends[i] != endOf(task)) {
+            newChunk.types = chunk.types.clone();
+            newChunk.starts = chunk.starts.clone();
+            newChunk.ends = chunk.ends.clone();
+            writeFields(newChunk, i, task);
+        }
+        Chunk[] newChunks = chunks.clone();
+        newChunks[index >>> SHIFT] = newChunk;
+        return new ColumnarTaskVector(arena, newChunks, size);
+    }
+
+    @Override
+    TaskVector setMarked(int[] indexes, boolean isMarked) {
+        Chunk[] newChunks = chunks.clone();
+        int copiedChunk = -1;
+        for (int index : indexes) {
+            int chunk = index >>> SHIFT;
+            if (chunk != copiedChunk) {
+                newChunks[chunk] = new Chunk(chunks[chunk]);
+                newChunks[chunk].marked = (BitSet) chunks[chunk].marked.clone();
+                copiedChunk = chunk;
+            }
+            newChunks[chunk].marked.set(index & MASK, isMarked);
+        }
+        return new ColumnarTaskVector(arena, newChunks, size);
+    }
+
+    @Override
+    boolean isMarked(int index) {
+        return chunks[index >>> SHIFT].marked.get(index & MASK);
+    }
+
+    @Override
+    boolean isDated(int index) {
+        return chunks[index >>> SHIFT].types[index & MASK] != TODO;
+    }
+
+    @Override
+    long startMinute(int index) {
+        return chunks[index >>> SHIFT].starts[index & MASK];
+    }
+
+    @Override
+    long endMinute(int index) {
+        Chunk chunk = chunks[index >>> SHIFT];
+        int i = index & MASK;
+        return chunk.types[i] == EVENT ? Math.max(chunk.starts[i], chunk.ends[i]) : chunk.starts[i];
+    }
+
+    @Override
+    TaskVector emptyLike() {
+        return empty();
+    }
+
+    private static void writeFields(Chunk chunk, int i, Task task) {
+        chunk.types[i] = typeOf(task);
+        chunk.starts[i] = startOf(task);
+        chunk.ends[i] = endOf(task);
+        if (task.isMarked()) {
+            chunk.marked.set(i);
+        }
+    }
+
+    private static byte typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return DEADLINE;
+        } else if (task instanceof Event) {
+            return EVENT;
+        } else if (task instanceof Todo) {
+            return TODO;
+        }
+        throw new IllegalArgumentException("Cannot store " + task.getClass().getSimpleName() + " in columns");
+    }
+
+    private static long startOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByEpochMinute();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFromEpochMinute();
+        }
+        return 0;
+    }
+
+    private static long endOf(Task task) {
+        return task instanceof Event ? ((Event) task).getToEpochMinute() : 0;
+    }
+
+    /**
+     * The columns of up to CHUNK_SIZE tasks. The marked bits are sized for the whole chunk up front, so
+     * setting a bit never replaces the array behind them while another thread reads it.
+     */
+    private static class Chunk {
+        private byte[] types;
+        private BitSet marked;
+        private long[] sequences;
+        private long[] descriptions;
+        private long[] starts;
+        private long[] ends;
+
+        Chunk() {
+            types = new byte[CHUNK_SIZE];
+            marked = new BitSet(CHUNK_SIZE);
+            sequences = new long[CHUNK_SIZE];
+            descriptions = new long[CHUNK_SIZE];
+            starts = new long[CHUNK_SIZE];
+            ends = new long[CHUNK_SIZE];
+        }
+
+        Chunk(Chunk other) {
+            types = other.types;
+            marked = other.marked;
+            sequences = other.sequences;
+            descriptions = other.descriptions;
+            starts = other.starts;
+            ends = other.ends;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package seedu.duke.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts and times the commands run by a Parser, per Operation and per phase: parsing the input, running
+ * it against the TaskList, which includes rendering the response, and saving. The bytes the Storage writes
+ * while saving are counted per Operation as well.
+ * Everything is recorded without locks, so a Parser with metrics reads the clock four times per command,
+ * and a Parser without them does not read it at all. The same figures are shown by the stats command and,
+ * once registered, over JMX as seedu.duke:type=CommandMetrics.
+ */
+public class CommandMetrics implements CommandMetricsMBean {
+    private static final String OBJECT_NAME = "seedu.duke:type=CommandMetrics";
+    private static final Parser.Operation[] OPERATIONS = Parser.Operation.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private volatile Recording recording = new Recording();
+
+    /**
+     * Parts of a command that are timed separately
+     */
+    public enum Phase {
+        PARSE, RUN, SAVE
+    }
+
+    /**
+     * Records a command that ran
+     *
+     * @param operation operation of the command
+     * @param parseNanos time taken to parse the input
+     * @param runNanos time taken to run the command and render its response
+     * @param saveNanos time taken to save the TaskList afterwards
+     * @param bytesWritten bytes written by the Storage while saving
+     */
+    public void record(Parser.Operation operation, long parseNanos, long runNanos, long saveNanos,
+            long bytesWritten) {
+        LatencyHistogram[] histograms = recording.histograms[operation.ordinal()];
+        histograms[Phase.PARSE.ordinal()].record(parseNanos);
+        histograms[Phase.RUN.ordinal()].record(runNanos);
+        histograms[Phase.SAVE.ordinal()].record(saveNanos);
+        if (bytesWritten > 0) {
+            recording.bytesWritten.addAndGet(operation.ordinal(), bytesWritten);
+        }
+    }
+
+    /**
+     * Records a command that failed, e.g. with an invalid task number
+     *
+     * @param operation operation of the command
+     */
+    public void recordError(Parser.Operation operation) {
+        recording.errors.incrementAndGet(operation.ordinal());
+    }
+
+    /**
+     * Registers these metrics with the platform MBeanServer, replacing any registered before
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            System.out.println("Error while registering metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long getCommandCount() {
+        Recording current = recording;
+        long count = 0;
+        for (Parser.Operation operation : OPERATIONS) {
+            count += current.countOf(operation);
+        }
+        return count + getErrorCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return sum(recording.errors);
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return sum(recording.bytesWritten);
+    }
+
+    @Override
+    public double getCommandsPerSecond() {
+        double seconds = recording.elapsedSeconds();
+        return seconds == 0 ? 0 : getCommandCount() / seconds;
+    }
+
+    @Override
+    public double percentileMicros(String operation, String phase, double percentile) {
+        Parser.Operation parsedOperation = Parser.Operation.valueOf(operation.toUpperCase(Locale.ROOT));
+        Phase parsedPhase = Phase.valueOf(phase.toUpperCase(Locale.ROOT));
+        return recording.histograms[parsedOperation.ordinal()][parsedPhase.ordinal()].percentile(percentile)
+                / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        recording = new Recording();
+    }
+
+    /**
+     * Returns a table of the commands run since the start or the last reset, one row per operation that
+     * was used, with the 50th and 99th percentile and the longest time of every phase in microseconds
+     */
+    @Override
+    public String getReport() {
+        Recording current = recording;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d commands in %.1f s, %.1f per second, %d failed%n",
+                getCommandCount(), current.elapsedSeconds(), getCommandsPerSecond(), getErrorCount()));
+        report.append(String.format(Locale.ROOT, "%-10s%8s%8s  %-21s %-21s %-21s %12s%n", "command", "count",
+                "failed", "parse p50/p99/max", "run p50/p99/max", "save p50/p99/max", "bytes"));
+        for (Parser.Operation operation : OPERATIONS) {
+            long count = current.countOf(operation);
+            long errors = current.errors.get(operation.ordinal());
+            if (count + errors == 0) {
+                continue;
+            }
+            report.append(String.format(Locale.ROOT, "%-10s%8d%8d  ", operation.name().toLowerCase(Locale.ROOT),
+                    count, errors));
+            for (Phase phase : PHASES) {
+                report.append(String.format(Locale.ROOT, "%-21s ",
+                        timesOf(current.histograms[operation.ordinal()][phase.ordinal()])));
+            }
+            report.append(String.format(Locale.ROOT, "%12d%n", current.bytesWritten.get(operation.ordinal())));
+        }
+        report.append("Times are in microseconds.\n");
+        return report.toString();
+    }
+
+    private static String timesOf(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%.1f/%.1f/%.1f", histogram.percentile(0.5) / 1000.0,
+                histogram.percentile(0.99) / 1000.0, histogram.getMax() / 1000.0);
+    }
+
+    private static long sum(AtomicLongArray values) {
+        long sum = 0;
+        for (int i = 0; i < values.length(); i++) {
+            sum += values.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Everything recorded since one start or reset. A reset replaces it, so recording never waits for one.
+     */
+    private static class Recording {
+        private final long startNanos = System.nanoTime();
+        private final LatencyHistogram[][] histograms = new LatencyHistogram[OPERATIONS.length][PHASES.length];
+        private final AtomicLongArray errors = new AtomicLongArray(OPERATIONS.length);
+        private final AtomicLongArray bytesWritten = new AtomicLongArray(OPERATIONS.length);
+
+        Recording() {
+            for (LatencyHistogram[] phases : histograms) {
+                for (int i = 0; i < phases.length; i++) {
+                    phases[i] = new LatencyHistogram();
+                }
+            }
+        }
+
+        long countOf(Parser.Operation operation) {
+            return histograms[operation.ordinal()][Phase.PARSE.ordinal()].getCount();
+        }
+
+        double elapsedSeconds() {
+            return (System.nanoTime() - startNanos) / 1e9;
+        }
+    }
+}
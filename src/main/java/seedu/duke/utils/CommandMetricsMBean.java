@@ -0,0 +1,34 @@
+package seedu.duke.utils;
+
+/**
+ * Management interface of CommandMetrics, as shown in JConsole or any other JMX client
+ */
+public interface CommandMetricsMBean {
+    long getCommandCount();
+
+    long getErrorCount();
+
+    long getBytesWritten();
+
+    double getCommandsPerSecond();
+
+    /**
+     * Returns the table the stats command shows
+     */
+    String getReport();
+
+    /**
+     * Returns a percentile of the time one phase of an operation took
+     *
+     * @param operation name of the operation, e.g. todo
+     * @param phase parse, run or save
+     * @param percentile share between 0 and 1, e.g. 0.99
+     * @return duration in microseconds
+     */
+    double percentileMicros(String operation, String phase, double percentile);
+
+    /**
+     * Forgets everything recorded so far
+     */
+    void reset();
+}
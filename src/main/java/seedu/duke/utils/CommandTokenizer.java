@@ -0,0 +1,226 @@
+package seedu.duke.utils;
+
+import java.util.Arrays;
+
+/**
+ * Splits a line of user input into its command and arguments in a single pass.
+ * The input is never copied or changed in case; the tokenizer only records where the command word,
+ * the arguments and the /by, /from and /to keywords are, and cuts out a segment when it is asked for one.
+ * E.g. event Project Meeting /from 2023-09-21 14:00 /to 2023-09-21 16:00
+ *      -> operation EVENT, description `Project Meeting`, from `2023-09-21 14:00`, to `2023-09-21 16:00`
+ */
+class CommandTokenizer {
+    static final long NOT_INTEGER = Long.MIN_VALUE;
+
+    private static final Parser.Operation[][] OPERATIONS_BY_LENGTH = operationsByLength();
+    private static final Keyword[] KEYWORDS = Keyword.values();
+
+    private final String input;
+    private final Parser.Operation operation;
+    private final int argumentsStart;
+    private final int argumentsEnd;
+    private final int[] keywordStarts = new int[KEYWORDS.length];
+
+    /**
+     * ENUMS
+     */
+    enum Keyword {
+        BY("/by"), FROM("/from"), TO("/to");
+
+        private final String text;
+
+        Keyword(String text) {
+            this.text = text;
+        }
+
+        String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Scans the input once, recording the offsets of the command, the arguments and the keywords
+     *
+     * @param input user input
+     */
+    CommandTokenizer(String input) {
+        this.input = input;
+        int length = input.length();
+        int commandStart = skipSpaces(0, length);
+        int commandEnd = commandStart;
+        while (commandEnd < length && input.charAt(commandEnd) != ' ') {
+            commandEnd++;
+        }
+        operation = lookUp(commandStart, commandEnd);
+
+        Arrays.fill(keywordStarts, -1);
+        int start = skipSpaces(commandEnd, length);
+        int end = start;
+        for (int i = start; i < length; i++) {
+            char c = input.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                end = i + 1;
+            }
+            if (c == '/') {
+                recordKeyword(i);
+            }
+        }
+        argumentsStart = start;
+        argumentsEnd = end;
+    }
+
+    /**
+     * Returns the operation named by the command word
+     *
+     * @return the operation, or null if the command is unknown
+     */
+    Parser.Operation getOperation() {
+        return operation;
+    }
+
+    boolean hasArguments() {
+        return argumentsStart < argumentsEnd;
+    }
+
+    /**
+     * Returns everything after the command word, without surrounding spaces and in its original case
+     */
+    String arguments() {
+        return input.substring(argumentsStart, argumentsEnd);
+    }
+
+    boolean hasKeyword(Keyword keyword) {
+        return keywordStarts[keyword.ordinal()] >= 0;
+    }
+
+    /**
+     * Returns the arguments before the keyword, or all arguments if the keyword is missing
+     */
+    String before(Keyword keyword) {
+        int end = hasKeyword(keyword) ? keywordStarts[keyword.ordinal()] : argumentsEnd;
+        return segment(argumentsStart, end);
+    }
+
+    /**
+     * Returns the arguments between the keyword and the next keyword, or the end if the next one is missing
+     */
+    String after(Keyword keyword, Keyword next) {
+        if (!hasKeyword(keyword)) {
+            return "";
+        }
+        int end = hasKeyword(next) ? keywordStarts[next.ordinal()] : argumentsEnd;
+        return segment(keywordStarts[keyword.ordinal()] + keyword.text.length(), end);
+    }
+
+    /**
+     * Returns the arguments after the keyword
+     */
+    String after(Keyword keyword) {
+        if (!hasKeyword(keyword)) {
+            return "";
+        }
+        return segment(keywordStarts[keyword.ordinal()] + keyword.text.length(), argumentsEnd);
+    }
+
+    /**
+     * Parses the arguments as a decimal integer
+     *
+     * @return the integer, or NOT_INTEGER if the arguments are not an int
+     */
+    long integerArgument() {
+        return parseInteger(input, argumentsStart, argumentsEnd);
+    }
+
+    /**
+     * Parses input[from, to) as a decimal int with an optional sign
+     *
+     * @return the integer, or NOT_INTEGER if the text is not an int
+     */
+    static long parseInteger(String text, int from, int to) {
+        int i = from;
+        boolean isNegative = i < to && text.charAt(i) == '-';
+        if (isNegative || (i < to && text.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == to) {
+            return NOT_INTEGER;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_INTEGER;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return NOT_INTEGER;
+            }
+        }
+        value = isNegative ? -value : value;
+        return value > Integer.MAX_VALUE ? NOT_INTEGER : value;
+    }
+
+    /**
+     * Records the first /by and /from, and the first /to after /from
+     */
+    private void recordKeyword(int position) {
+        for (Keyword keyword : KEYWORDS) {
+            if (keywordStarts[keyword.ordinal()] < 0
+                    && input.regionMatches(true, position, keyword.text, 0, keyword.text.length())) {
+                if (keyword == Keyword.TO && !hasKeyword(Keyword.FROM)) {
+                    continue;
+                }
+                keywordStarts[keyword.ordinal()] = position;
+                return;
+            }
+        }
+    }
+
+    private String segment(int from, int to) {
+        int start = skipSpaces(from, to);
+        int end = to;
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        return input.substring(start, end);
+    }
+
+    private int skipSpaces(int from, int to) {
+        int i = from;
+        while (i < to && Character.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private Parser.Operation lookUp(int start, int end) {
+        int length = end - start;
+        if (length >= OPERATIONS_BY_LENGTH.length) {
+            return null;
+        }
+        for (Parser.Operation candidate : OPERATIONS_BY_LENGTH[length]) {
+            if (input.regionMatches(true, start, candidate.name(), 0, length)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Groups the operations by the length of their command word, so a lookup only compares
+     * the input against commands of the same length
+     */
+    private static Parser.Operation[][] operationsByLength() {
+        int maxLength = 0;
+        for (Parser.Operation operation : Parser.Operation.values()) {
+            maxLength = Math.max(maxLength, operation.name().length());
+        }
+        Parser.Operation[][] table = new Parser.Operation[maxLength + 1][0];
+        for (Parser.Operation operation : Parser.Operation.values()) {
+            int length = operation.name().length();
+            table[length] = Arrays.copyOf(table[length], table[length].length + 1);
+            table[length][table[length].length - 1] = operation;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,142 @@
+package seedu.duke.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * When each done task was marked, kept in duke.txt.done beside the task file, as the archive only takes tasks
+ * done long enough ago and duke.txt has no room for the time. Every mark and unmark is appended as a line, e.g.
+ *      37 | 2023-09-20 18:00
+ *      37
+ * where a line with only the ID means the task was unmarked. Each time tasks are archived, the file is
+ * rewritten with only the tasks still done, so it does not grow without end.
+ */
+class CompletionTimes implements TaskListListener {
+    private static final String SEPARATOR = " | ";
+
+    private final Path path;
+    private final TaskList taskList;
+
+    /**
+     * constructor for CompletionTimes
+     *
+     * @param filePath file path of the completion times
+     * @param taskList TaskList whose marks are recorded
+     */
+    CompletionTimes(String filePath, TaskList taskList) {
+        this.path = Paths.get(filePath);
+        this.taskList = taskList;
+    }
+
+    /**
+     * Reads the epoch minute each task was last marked at, by ID, leaving out the tasks unmarked since
+     *
+     * @return minute each task was marked at
+     * @throws IOException if the file cannot be read
+     */
+    synchronized Map<Long, Long> read() throws IOException {
+        Map<Long, Long> times = new HashMap<>();
+        if (!Files.exists(path)) {
+            return times;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(SEPARATOR);
+            long id = CommandTokenizer.parseInteger(line, 0, separator < 0 ? line.length() : separator);
+            if (id == CommandTokenizer.NOT_INTEGER) {
+                continue;
+            }
+            if (separator < 0) {
+                times.remove(id);
+                continue;
+            }
+            try {
+                String time = line.substring(separator + SEPARATOR.length());
+                times.put(id, Task.toEpochMinute(LocalDateTime.parse(time, Task.STORAGE_FORMAT)));
+            } catch (DateTimeParseException e) {
+                // a line cut short by a crash, the task is taken as done when next read
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Replaces the file with the times of the tasks done now. A task done without a time, such as one
+     * already done before times were recorded, is taken as done at the given minute.
+     *
+     * @param times minute each task was marked at, as read
+     * @param nowMinute minute for the tasks done without a time
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void rewrite(Map<Long, Long> times, long nowMinute) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Task task : taskList.snapshot().getTasks()) {
+            if (task.isMarked()) {
+                appendLine(text, task.getId(), times.getOrDefault(task.getId(), nowMinute));
+            }
+        }
+        Path temp = Paths.get(path + ".tmp");
+        Files.write(temp, text.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (task.isMarked()) {
+            StringBuilder text = new StringBuilder();
+            appendLine(text, task.getId(), Task.toEpochMinute(LocalDateTime.now()));
+            append(text);
+        }
+    }
+
+    @Override
+    public void taskDeleted(int index) {
+        // the time is dropped when the file is next rewritten
+    }
+
+    @Override
+    public void taskMarked(int index, boolean isMarked) {
+        tasksMarked(new int[] {index}, isMarked);
+    }
+
+    @Override
+    public void tasksMarked(int[] indexes, boolean isMarked) {
+        List<Task> tasks = taskList.snapshot().getTasks();
+        long nowMinute = Task.toEpochMinute(LocalDateTime.now());
+        StringBuilder text = new StringBuilder();
+        for (int index : indexes) {
+            long id = tasks.get(index - 1).getId();
+            if (isMarked) {
+                appendLine(text, id, nowMinute);
+            } else {
+                text.append(id).append('\n');
+            }
+        }
+        append(text);
+    }
+
+    private static void appendLine(StringBuilder text, long id, long minute) {
+        text.append(id).append(SEPARATOR).append(Task.fromEpochMinute(minute).format(Task.STORAGE_FORMAT))
+                .append('\n');
+    }
+
+    private synchronized void append(StringBuilder text) {
+        try {
+            Files.write(path, text.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Error while recording when tasks were done: " + e.getMessage());
+        }
+    }
+}
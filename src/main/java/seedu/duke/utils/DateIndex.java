@@ -0,0 +1,296 @@
+package seedu.duke.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+
+/**
+ * Interval index over the dates of deadlines and events.
+ * Every dated task is an interval of epoch minutes: a deadline covers only its by date, an event
+ * covers from its start to its end. The intervals are kept in a treap ordered by start and augmented
+ * with the latest end in each subtree, so all intervals overlapping a range are found in logarithmic
+ * time plus the number of results. Each subtree also counts its unmarked tasks, so the next unmarked
+ * deadlines and events after a time are found without walking past the marked ones, which makes the index
+ * the priority queue behind upcoming and the reminders. A DateIndex never changes; an update returns a new
+ * index that shares all but the path from the root with the old one, so it can be searched from any thread.
+ * A node holds no Task, only the sequence number of its task in the TaskList, its dates and whether it is
+ * marked, read from the TaskVector without creating the task. The tasks found are looked up by their
+ * sequence numbers in the vector searched, so a columnar TaskList only creates the tasks a query returns.
+ */
+public class DateIndex {
+    private static final DateIndex EMPTY = new DateIndex(null);
+    private static final Random RANDOM = new Random();
+
+    private final Node root;
+
+    private DateIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds the index over the dated tasks in the vector
+     *
+     * @param tasks tasks to index
+     * @return the index
+     */
+    static DateIndex of(TaskVector tasks) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.isDated(i)) {
+                nodes.add(new Node(tasks.sequence(i), tasks.startMinute(i), tasks.endMinute(i), tasks.isMarked(i),
+                        0, null, null));
+            }
+        }
+        if (nodes.isEmpty()) {
+            return EMPTY;
+        }
+        nodes.sort(Comparator.comparingLong((Node node) -> node.start).thenComparingLong(node -> node.sequence));
+        return new DateIndex(build(nodes, 0, nodes.size()));
+    }
+
+    /**
+     * Returns an index with the task at the index of the vector added. Todos have no dates and are ignored.
+     *
+     * @param tasks vector holding the task
+     * @param index position of the task in the vector
+     * @return the new index
+     */
+    DateIndex add(TaskVector tasks, int index) {
+        if (!tasks.isDated(index)) {
+            return this;
+        }
+        Node node = new Node(tasks.sequence(index), tasks.startMinute(index), tasks.endMinute(index),
+                tasks.isMarked(index), RANDOM.nextInt(Integer.MAX_VALUE), null, null);
+        Node[] parts = split(root, node.start, node.sequence);
+        return new DateIndex(merge(merge(parts[0], node), parts[1]));
+    }
+
+    /**
+     * Returns an index without the task at the index of the vector
+     *
+     * @param tasks vector holding the task, before it is removed
+     * @param index position of the task in the vector
+     * @return the new index
+     */
+    DateIndex remove(TaskVector tasks, int index) {
+        if (!tasks.isDated(index)) {
+            return this;
+        }
+        long start = tasks.startMinute(index);
+        long sequence = tasks.sequence(index);
+        Node[] lower = split(root, start, sequence);
+        Node[] upper = split(lower[1], start, sequence + 1);
+        return new DateIndex(merge(lower[0], upper[1]));
+    }
+
+    /**
+     * Returns an index with the task at the index of the vector in the marked state it has there, e.g.
+     * after marking it. The task keeps its dates.
+     *
+     * @param tasks vector holding the task, after it is marked or unmarked
+     * @param index position of the task in the vector
+     * @return the new index
+     */
+    DateIndex setMarked(TaskVector tasks, int index) {
+        if (!tasks.isDated(index)) {
+            return this;
+        }
+        long start = tasks.startMinute(index);
+        long sequence = tasks.sequence(index);
+        Node[] lower = split(root, start, sequence);
+        Node[] upper = split(lower[1], start, sequence + 1);
+        Node node = upper[0];
+        if (node == null) {
+            return this;
+        }
+        Node replaced = new Node(sequence, node.start, node.end, tasks.isMarked(index), node.priority, node.left,
+                node.right);
+        return new DateIndex(merge(merge(lower[0], replaced), upper[1]));
+    }
+
+    /**
+     * Returns every deadline due and every event taking place in [from, to), ordered by date
+     *
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param tasks vector the index is of, to look the tasks up in
+     * @return tasks in the range
+     */
+    List<Task> between(LocalDateTime from, LocalDateTime to, TaskVector tasks) {
+        List<Long> sequences = new ArrayList<>();
+        collect(root, Task.toEpochMinute(from), Task.toEpochMinute(to), sequences);
+        return lookUp(sequences, tasks);
+    }
+
+    /**
+     * Returns the unmarked deadlines due and events starting in [from, to), ordered by date, skipping
+     * every subtree without an unmarked task
+     *
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param limit most tasks to return
+     * @param tasks vector the index is of, to look the tasks up in
+     * @return the first unmarked tasks in the range
+     */
+    List<Task> upcoming(LocalDateTime from, LocalDateTime to, int limit, TaskVector tasks) {
+        List<Long> sequences = new ArrayList<>();
+        collectUnmarked(root, Task.toEpochMinute(from), Task.toEpochMinute(to), limit, sequences);
+        return lookUp(sequences, tasks);
+    }
+
+    static boolean isDated(Task task) {
+        return task instanceof Deadline || task instanceof Event;
+    }
+
+    /**
+     * Returns the epoch minute a deadline is due or an event starts at
+     */
+    static long startOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByEpochMinute();
+        }
+        return ((Event) task).getFromEpochMinute();
+    }
+
+    /**
+     * Returns the epoch minute a deadline is due or an event ends at, which is never before its start
+     */
+    static long endOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByEpochMinute();
+        }
+        return Math.max(startOf(task), ((Event) task).getToEpochMinute());
+    }
+
+    private static List<Task> lookUp(List<Long> sequences, TaskVector tasks) {
+        List<Task> found = new ArrayList<>(sequences.size());
+        for (long sequence : sequences) {
+            int index = tasks.indexOf(sequence, 0);
+            if (index >= 0) {
+                found.add(tasks.get(index));
+            }
+        }
+        return found;
+    }
+
+    private static void collect(Node node, long from, long to, List<Long> sequences) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, sequences);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end >= from) {
+            sequences.add(node.sequence);
+        }
+        collect(node.right, from, to, sequences);
+    }
+
+    private static void collectUnmarked(Node node, long from, long to, int limit, List<Long> sequences) {
+        if (node == null || node.unmarkedCount == 0 || sequences.size() >= limit) {
+            return;
+        }
+        if (node.start >= from) {
+            collectUnmarked(node.left, from, to, limit, sequences);
+        }
+        if (node.start >= to || sequences.size() >= limit) {
+            return;
+        }
+        if (node.start >= from && !node.isMarked) {
+            sequences.add(node.sequence);
+        }
+        collectUnmarked(node.right, from, to, limit, sequences);
+    }
+
+    /**
+     * Builds a balanced tree from nodes sorted by key. A subtree of n nodes gets the priority that the
+     * largest of n random priorities would be expected to have, so the heap order of the treap holds and
+     * later random insertions land at the depth they would in a treap built one node at a time.
+     */
+    private static Node build(List<Node> nodes, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node left = build(nodes, from, middle);
+        Node right = build(nodes, middle + 1, to);
+        int priority = (int) (Integer.MAX_VALUE * (1.0 - 1.0 / (to - from + 1)));
+        return nodes.get(middle).with(left, right, priority);
+    }
+
+    /**
+     * Splits the tree into the nodes ordered before (start, sequence) and the rest
+     */
+    private static Node[] split(Node node, long start, long sequence) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.start < start || (node.start == start && node.sequence < sequence)) {
+            Node[] parts = split(node.right, start, sequence);
+            return new Node[] {node.with(node.left, parts[0], node.priority), parts[1]};
+        }
+        Node[] parts = split(node.left, start, sequence);
+        return new Node[] {parts[0], node.with(parts[1], node.right, node.priority)};
+    }
+
+    /**
+     * Joins two trees where every node in the first is ordered before every node in the second
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return left.with(left.left, merge(left.right, right), left.priority);
+        }
+        return right.with(merge(left, right.left), right.right, right.priority);
+    }
+
+    private static class Node {
+        private final long sequence;
+        private final long start;
+        private final long end;
+        private final boolean isMarked;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+        private final long maxEnd;
+        private final int unmarkedCount;
+
+        Node(long sequence, long start, long end, boolean isMarked, int priority, Node left, Node right) {
+            this.sequence = sequence;
+            this.start = start;
+            this.end = end;
+            this.isMarked = isMarked;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            long maxEnd = end;
+            int unmarkedCount = isMarked ? 0 : 1;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+                unmarkedCount += left.unmarkedCount;
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+                unmarkedCount += right.unmarkedCount;
+            }
+            this.maxEnd = maxEnd;
+            this.unmarkedCount = unmarkedCount;
+        }
+
+        Node with(Node left, Node right, int priority) {
+            return new Node(sequence, start, end, isMarked, priority, left, right);
+        }
+    }
+}
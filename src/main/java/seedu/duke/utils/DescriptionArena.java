@@ -0,0 +1,87 @@
+package seedu.duke.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append only store of task descriptions, so that millions of descriptions take a few large byte arrays
+ * instead of a String and an array each. A description is written as its UTF-8 length, as a varint, and
+ * its UTF-8 bytes, all in one block, and is found by the reference add returns: the index of the block
+ * in the high 32 bits and the offset in the block in the low 32 bits.
+ * Written bytes never change, and only one thread adds at a time. Readers see the bytes of a description
+ * through whatever published the reference to them.
+ */
+class DescriptionArena {
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private volatile byte[][] blocks = new byte[4][];
+    private int blockCount;
+    private int position = BLOCK_SIZE;
+
+    /**
+     * Stores a description
+     *
+     * @param description description to store
+     * @return reference to the description
+     */
+    long add(String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        int size = varintSize(bytes.length) + bytes.length;
+        if (position + size > BLOCK_SIZE || blockCount == 0) {
+            byte[][] newBlocks = blocks;
+            if (blockCount == newBlocks.length) {
+                newBlocks = Arrays.copyOf(newBlocks, newBlocks.length * 2);
+            }
+            newBlocks[blockCount] = new byte[Math.max(BLOCK_SIZE, size)];
+            blockCount++;
+            position = 0;
+            blocks = newBlocks;
+        }
+        byte[] block = blocks[blockCount - 1];
+        long reference = ((long) (blockCount - 1) << 32) | position;
+        int offset = position;
+        for (int length = bytes.length; ; length >>>= 7) {
+            if (length < 0x80) {
+                block[offset++] = (byte) length;
+                break;
+            }
+            block[offset++] = (byte) (length | 0x80);
+        }
+        System.arraycopy(bytes, 0, block, offset, bytes.length);
+        position = offset + bytes.length;
+        return reference;
+    }
+
+    /**
+     * Reads a description back
+     *
+     * @param reference reference returned by add
+     * @return the description
+     */
+    String get(long reference) {
+        byte[] block = blocks[(int) (reference >>> 32)];
+        int offset = (int) reference;
+        int length = lengthAt(block, offset);
+        return new String(block, offset + varintSize(length), length, StandardCharsets.UTF_8);
+    }
+
+    private static int lengthAt(byte[] block, int offset) {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = block[offset++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return length;
+            }
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
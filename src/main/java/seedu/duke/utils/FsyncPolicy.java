@@ -0,0 +1,152 @@
+package seedu.duke.utils;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When written files are forced to disk with fsync, trading durability for throughput.
+ * always forces every write before it counts as saved, never leaves it to the operating system, and
+ * every N ms forces a file at most once per N ms: a write that comes sooner is forced by a timer at the
+ * end of the interval, so no write stays in the page cache for much longer than N ms.
+ */
+public class FsyncPolicy {
+    public static final FsyncPolicy ALWAYS = new FsyncPolicy(0);
+    public static final FsyncPolicy NEVER = new FsyncPolicy(-1);
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fsync-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long intervalNanos;
+
+    private FsyncPolicy(long intervalNanos) {
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Returns the policy that forces each file at most once per interval
+     *
+     * @param millis length of the interval in milliseconds, 0 forces every write
+     * @return the policy
+     */
+    public static FsyncPolicy every(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("fsync interval must not be negative: " + millis);
+        }
+        return millis == 0 ? ALWAYS : new FsyncPolicy(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Parses a policy
+     * E.g. always, never, 100ms
+     *
+     * @param text text to parse
+     * @return the policy
+     * @throws IllegalArgumentException if the text is not a policy
+     */
+    public static FsyncPolicy parse(String text) {
+        String trimmed = text.trim().toLowerCase(Locale.ROOT);
+        switch (trimmed) {
+        case "always":
+            return ALWAYS;
+        case "never":
+            return NEVER;
+        default:
+            String millis = trimmed.endsWith("ms") ? trimmed.substring(0, trimmed.length() - 2).trim() : trimmed;
+            try {
+                return every(Long.parseLong(millis));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected always, never or an interval like 100ms: " + text);
+            }
+        }
+    }
+
+    boolean isNever() {
+        return intervalNanos < 0;
+    }
+
+    /**
+     * Returns the state of this policy for one file
+     */
+    FileSync forFile() {
+        return new FileSync();
+    }
+
+    @Override
+    public String toString() {
+        if (intervalNanos == 0) {
+            return "always";
+        }
+        return isNever() ? "never" : TimeUnit.NANOSECONDS.toMillis(intervalNanos) + "ms";
+    }
+
+    /**
+     * Forces a file to disk
+     */
+    interface Force {
+        void run() throws IOException;
+    }
+
+    /**
+     * Decides when the writes to one file are forced
+     */
+    class FileSync {
+        private long lastForceNanos = System.nanoTime() - intervalNanos;
+        private Force pending;
+
+        /**
+         * Returns true if a write made now should be forced straight away, in which case the caller forces it
+         */
+        synchronized boolean isDue() {
+            if (isNever() || pending != null) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (now - lastForceNanos < intervalNanos) {
+                return false;
+            }
+            lastForceNanos = now;
+            return true;
+        }
+
+        /**
+         * Forces a write that was not due at the end of the current interval, together with any other write
+         * made before then. Does nothing if the policy never forces.
+         *
+         * @param force forces the latest write
+         */
+        synchronized void later(Force force) {
+            if (isNever()) {
+                return;
+            }
+            boolean isScheduled = pending != null;
+            pending = force;
+            if (!isScheduled) {
+                long delay = Math.max(0, lastForceNanos + intervalNanos - System.nanoTime());
+                TIMER.schedule(this::runPending, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Runs the pending force outside the lock, as it may take the lock of the writer calling isDue
+         */
+        private void runPending() {
+            Force force;
+            synchronized (this) {
+                force = pending;
+                pending = null;
+                lastForceNanos = System.nanoTime();
+            }
+            try {
+                force.run();
+            } catch (IOException e) {
+                System.out.println("Error while forcing file to disk: " + e.getMessage());
+            }
+        }
+    }
+}
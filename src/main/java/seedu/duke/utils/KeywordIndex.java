@@ -0,0 +1,178 @@
+package seedu.duke.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * Inverted index from the words in task descriptions to the tasks containing them.
+ * Every prefix of a word, up to MAX_PREFIX characters, has a posting list of the sequence numbers of
+ * the tasks containing it, in the order they were added, which is also their order in the TaskList.
+ * A task matches a query if every word of the query is the start of some word in its description.
+ * The index is updated by one thread at a time and searched by any number of threads without locking:
+ * postings only ever grow, and a search looks the sequence numbers up in the TaskVector it was given,
+ * so tasks deleted from or added after that vector are skipped.
+ */
+public class KeywordIndex {
+    private static final int MAX_PREFIX = 8;
+
+    private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+    private int size;
+    private int removed;
+
+    /**
+     * Builds the index over the tasks in the vector
+     *
+     * @param tasks tasks to index
+     * @return the index
+     */
+    static KeywordIndex of(TaskVector tasks) {
+        KeywordIndex index = new KeywordIndex();
+        for (int i = 0; i < tasks.size(); i++) {
+            index.add(tasks.get(i), tasks.sequence(i));
+        }
+        return index;
+    }
+
+    /**
+     * Adds a task to the index. Tasks must be added in TaskList order.
+     *
+     * @param task task to add
+     * @param sequence sequence number of the task
+     */
+    void add(Task task, long sequence) {
+        Set<String> prefixes = new HashSet<>();
+        for (String word : tokenize(task.getDescription())) {
+            for (int length = 1; length <= Math.min(word.length(), MAX_PREFIX); length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        for (String prefix : prefixes) {
+            postings.put(prefix, postings.getOrDefault(prefix, Posting.EMPTY).append(sequence));
+        }
+        size++;
+    }
+
+    /**
+     * Counts a task as removed. Its sequence number stays in the postings until the index is rebuilt.
+     *
+     * @return true if so many tasks were removed that the index should be rebuilt
+     */
+    boolean remove() {
+        size--;
+        removed++;
+        return isStale();
+    }
+
+    /**
+     * Returns true if so many tasks were removed that the index should be rebuilt
+     */
+    boolean isStale() {
+        return removed > Math.max(size, 1024);
+    }
+
+    /**
+     * Returns the tasks in the vector matching every word in the query, in TaskList order
+     *
+     * @param query words to look for
+     * @param tasks tasks to look the matches up in
+     * @return matching tasks, or null if the query has no words that can be looked up
+     */
+    List<Task> search(String query, TaskVector tasks) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return null;
+        }
+        Posting candidates = null;
+        for (String word : words) {
+            Posting posting = postings.getOrDefault(prefixOf(word), Posting.EMPTY);
+            if (candidates == null || posting.count < candidates.count) {
+                candidates = posting;
+            }
+        }
+        List<Task> matches = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i < candidates.count; i++) {
+            int index = tasks.indexOf(candidates.sequences[i], from);
+            if (index < 0) {
+                continue;
+            }
+            from = index + 1;
+            Task task = tasks.get(index);
+            if (matchesAll(task, words)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesAll(Task task, List<String> words) {
+        List<String> taskWords = tokenize(task.getDescription());
+        for (String word : words) {
+            boolean isFound = false;
+            for (String taskWord : taskWords) {
+                if (taskWord.startsWith(word)) {
+                    isFound = true;
+                    break;
+                }
+            }
+            if (!isFound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String prefixOf(String word) {
+        return word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word;
+    }
+
+    /**
+     * Splits text into lower case words made of letters and digits
+     */
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Sequence numbers of the tasks containing one prefix. A posting never changes the part of the array
+     * it covers; appending writes past its count, or into a larger copy when the array is full.
+     */
+    private static class Posting {
+        private static final Posting EMPTY = new Posting(new long[0], 0);
+
+        private final long[] sequences;
+        private final int count;
+
+        Posting(long[] sequences, int count) {
+            this.sequences = sequences;
+            this.count = count;
+        }
+
+        Posting append(long sequence) {
+            long[] array = sequences;
+            if (count == array.length) {
+                array = Arrays.copyOf(array, Math.max(4, count * 2));
+            }
+            array[count] = sequence;
+            return new Posting(array, count + 1);
+        }
+    }
+}
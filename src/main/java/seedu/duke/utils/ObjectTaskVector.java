@@ -0,0 +1,87 @@
+package seedu.duke.utils;
+
+import java.util.Arrays;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * TaskVector holding one Task object per task, which also holds its sequence number as its ID.
+ * The tasks are kept in chunks of CHUNK_SIZE. An update copies only the chunks it changes and the
+ * chunk directory, and shares the rest with the vector it was made from. Appends write into the free
+ * space of the last chunk in place, which no older vector can see as it is beyond their size.
+ */
+class ObjectTaskVector extends TaskVector {
+    private static final int SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    static final ObjectTaskVector EMPTY = new ObjectTaskVector(new Task[0][], 0);
+
+    private final Task[][] tasks;
+    private final int size;
+
+    private ObjectTaskVector(Task[][] tasks, int size) {
+        this.tasks = tasks;
+        this.size = size;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Task get(int index) {
+        return tasks[index >>> SHIFT][index & MASK];
+    }
+
+    @Override
+    long sequence(int index) {
+        return get(index).getId();
+    }
+
+    @Override
+    TaskVector append(Task task) {
+        int chunk = size >>> SHIFT;
+        Task[][] newTasks = tasks;
+        if ((size & MASK) == 0) {
+            if (chunk == tasks.length) {
+                newTasks = Arrays.copyOf(tasks, Math.max(4, chunk * 2));
+            }
+            newTasks[chunk] = new Task[CHUNK_SIZE];
+        }
+        newTasks[chunk][size & MASK] = task;
+        return new ObjectTaskVector(newTasks, size + 1);
+    }
+
+    @Override
+    TaskVector set(int index, Task task) {
+        int chunk = index >>> SHIFT;
+        Task[][] newTasks = tasks.clone();
+        newTasks[chunk] = tasks[chunk].clone();
+        newTasks[chunk][index & MASK] = task;
+        return new ObjectTaskVector(newTasks, size);
+    }
+
+    @Override
+    TaskVector setMarked(int[] indexes, boolean isMarked) {
+        Task[][] newTasks = tasks.clone();
+        int copiedChunk = -1;
+        for (int index : indexes) {
+            int chunk = index >>> SHIFT;
+            if (chunk != copiedChunk) {
+                newTasks[chunk] = tasks[chunk].clone();
+                copiedChunk = chunk;
+            }
+            Task task = newTasks[chunk][index & MASK];
+            if (task.isMarked() != isMarked) {
+                newTasks[chunk][index & MASK] = task.withMarked(isMarked);
+            }
+        }
+        return new ObjectTaskVector(newTasks, size);
+    }
+
+    @Override
+    TaskVector emptyLike() {
+        return EMPTY;
+    }
+}
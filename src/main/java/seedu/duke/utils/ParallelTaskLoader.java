@@ -0,0 +1,227 @@
+package seedu.duke.utils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+
+/**
+ * Loads duke.txt in parallel. The file is memory mapped and split into byte ranges that start and end
+ * on line boundaries; the ranges are parsed on a fork-join pool and joined back in their original order.
+ * Lines that cannot be parsed are skipped and reported together with their line number.
+ * The first tasks can also be loaded on their own, on the calling thread, and the rest of the file later.
+ */
+public class ParallelTaskLoader {
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * constructor for ParallelTaskLoader
+     *
+     * @param pool pool to parse the file on
+     */
+    public ParallelTaskLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Result of loading a file
+     */
+    public static class Result {
+        private final List<Task> tasks;
+        private final List<Integer> errorLines;
+        private final List<String> errorMessages;
+        private int lineCount;
+        private ByteBuffer buffer;
+        private int end;
+
+        private Result(List<Task> tasks, List<Integer> errorLines, List<String> errorMessages, int lineCount) {
+            this.tasks = tasks;
+            this.errorLines = errorLines;
+            this.errorMessages = errorMessages;
+            this.lineCount = lineCount;
+        }
+
+        public List<Task> getTasks() {
+            return tasks;
+        }
+
+        /**
+         * Returns a message for every line that could not be parsed, in file order
+         *
+         * @return error messages prefixed with their line number
+         */
+        public List<String> getErrors() {
+            List<String> errors = new ArrayList<>(errorLines.size());
+            for (int i = 0; i < errorLines.size(); i++) {
+                errors.add("line " + errorLines.get(i) + ": " + errorMessages.get(i));
+            }
+            return errors;
+        }
+    }
+
+    /**
+     * Loads all tasks in the file
+     *
+     * @param path file to load
+     * @return the tasks and the errors found
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public Result load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException(path + " (No such file or directory)");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to load: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return pool.invoke(new ChunkParser(buffer, 0, buffer.limit()));
+        }
+    }
+
+    /**
+     * Loads the first tasks in the file, on the calling thread
+     *
+     * @param path file to load
+     * @param count number of tasks to load
+     * @return the tasks and the errors found, and where to continue with loadRest
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public Result loadFirst(Path path, int count) throws IOException {
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException(path + " (No such file or directory)");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to load: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Result first = new ChunkParser(buffer, 0, buffer.limit(), count).parseLines();
+            first.buffer = buffer;
+            return first;
+        }
+    }
+
+    /**
+     * Loads the tasks after the ones loadFirst loaded, in parallel. The file is not read again, as it is
+     * still mapped, so it does not matter if it was replaced meanwhile.
+     *
+     * @param first result of loadFirst
+     * @return the tasks and the errors found after the first tasks, with line numbers from the start of the file
+     */
+    public Result loadRest(Result first) {
+        Result rest = pool.invoke(new ChunkParser(first.buffer, first.end, first.buffer.limit(), Integer.MAX_VALUE));
+        rest.errorLines.replaceAll(lineNumber -> lineNumber + first.lineCount);
+        return rest;
+    }
+
+    /**
+     * Parses the lines in [start, end), splitting the range in two while it is large, or only up to
+     * the given number of tasks
+     */
+    private static class ChunkParser extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final int maxTasks;
+
+        ChunkParser(ByteBuffer buffer, int start, int end) {
+            this(buffer, start, end, Integer.MAX_VALUE);
+        }
+
+        ChunkParser(ByteBuffer buffer, int start, int end, int maxTasks) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+            this.maxTasks = maxTasks;
+        }
+
+        @Override
+        protected Result compute() {
+            if (end - start > MIN_CHUNK_BYTES && maxTasks == Integer.MAX_VALUE) {
+                int middle = nextLineStart(start + (end - start) / 2);
+                if (middle < end) {
+                    ChunkParser right = new ChunkParser(buffer, middle, end);
+                    right.fork();
+                    Result left = new ChunkParser(buffer, start, middle).compute();
+                    return join(left, right.join());
+                }
+            }
+            return parseLines();
+        }
+
+        private int nextLineStart(int position) {
+            int i = position;
+            while (i < end && buffer.get(i) != '\n') {
+                i++;
+            }
+            return Math.min(i + 1, end);
+        }
+
+        private Result parseLines() {
+            List<Task> tasks = new ArrayList<>();
+            List<Integer> errorLines = new ArrayList<>();
+            List<String> errorMessages = new ArrayList<>();
+            ByteBuffer view = buffer.duplicate();
+            byte[] scratch = new byte[256];
+            int lineNumber = 0;
+            int lineStart = start;
+            while (lineStart < end && tasks.size() < maxTasks) {
+                int lineEnd = nextLineStart(lineStart);
+                int length = lineEnd - lineStart;
+                if (length > 0 && buffer.get(lineStart + length - 1) == '\n') {
+                    length--;
+                }
+                if (length > 0 && buffer.get(lineStart + length - 1) == '\r') {
+                    length--;
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                view.position(lineStart);
+                view.get(scratch, 0, length);
+                lineNumber++;
+                if (length > 0) {
+                    String line = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                    try {
+                        tasks.add(Storage.parseTaskFromLine(line));
+                    } catch (TaskException e) {
+                        errorLines.add(lineNumber);
+                        errorMessages.add(e.getMessage().trim());
+                    }
+                }
+                lineStart = lineEnd;
+            }
+            Result result = new Result(tasks, errorLines, errorMessages, lineNumber);
+            result.end = lineStart;
+            return result;
+        }
+
+        private static Result join(Result left, Result right) {
+            left.tasks.addAll(right.tasks);
+            for (int lineNumber : right.errorLines) {
+                left.errorLines.add(lineNumber + left.lineCount);
+            }
+            left.errorMessages.addAll(right.errorMessages);
+            left.lineCount += right.lineCount;
+            return left;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package seedu.duke.utils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import seedu.duke.exceptions.EmptyDescriptionException;
 import seedu.duke.exceptions.InvalidCommandException;
@@ -20,8 +25,28 @@ import seedu.duke.ui.Ui;
  * Paraser class
  */
 public class Parser {
+    /** Number of tasks on a page of list or find when no page size is given */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /** Number of closest tasks search shows when no number is given */
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+    /** Number of tasks upcoming shows when no number is given */
+    public static final int DEFAULT_UPCOMING_COUNT = 10;
+
+    private static final String SUBSTRING_FLAG = "--substring";
+    private static final String PREFIX_FLAG = "--prefix";
+    private static final String PAGE_FLAG = "--page";
+    private static final String PAGE_SIZE_FLAG = "--page-size";
+    private static final String TOP_FLAG = "--top";
+    private static final String ALL_FLAG = "--all";
+    private static final String ARCHIVED = "archived";
+
     private Storage storage;
-    private final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final Ui ui = new Ui();
+    private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private volatile int saveInterval = 1;
+    private final AtomicInteger unsavedCommands = new AtomicInteger();
+    private volatile Listing lastListing;
+    private volatile CommandMetrics metrics;
 
     /**
      * constructor
@@ -36,7 +61,54 @@ public class Parser {
      * ENUMS
      */
     public enum Operation {
-        BYE, LIST, MARK, UNMARK, DELETE, TODO, DEADLINE, EVENT, CHECKDATE, FIND, HELP
+        BYE, LIST, MARK, UNMARK, DELETE, TODO, DEADLINE, EVENT, CHECKDATE, BETWEEN, FIND, SEARCH, UPCOMING, HELP, MORE,
+        STATS
+    }
+
+    /**
+     * A list or find command and the page it showed, kept so that `more` can show the next page.
+     * An archived list shows the archived tasks instead of the list, an archived find searches them too.
+     */
+    private static class Listing {
+        private final Operation operation;
+        private final String keyword;
+        private final boolean isWordPrefix;
+        private final boolean isArchived;
+        private final int page;
+        private final int pageSize;
+
+        Listing(Operation operation, String keyword, boolean isWordPrefix, boolean isArchived, int page,
+                int pageSize) {
+            this.operation = operation;
+            this.keyword = keyword;
+            this.isWordPrefix = isWordPrefix;
+            this.isArchived = isArchived;
+            this.page = page;
+            this.pageSize = pageSize;
+        }
+
+        Listing next() {
+            return new Listing(operation, keyword, isWordPrefix, isArchived, page + 1, pageSize);
+        }
+    }
+
+    /**
+     * Sets how often the TaskList is saved. 1 saves after every command, n after every n commands,
+     * and 0 only on bye, leaving any other saving to the caller.
+     *
+     * @param saveInterval number of commands between saves
+     */
+    public void setSaveInterval(int saveInterval) {
+        this.saveInterval = saveInterval;
+    }
+
+    /**
+     * Sets the metrics every command is recorded in, or null to record nothing, which is the default
+     *
+     * @param metrics metrics to record commands in
+     */
+    public void setMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -47,141 +119,223 @@ public class Parser {
      * @return boolean to signal if it is the BYE opeartion or not
      */
     public String parse(String userInput, TaskList taskList) {
-        Operation operation;
         try {
-            try {
-                operation = Operation.valueOf(userInput.toUpperCase().split(" ")[0]);
-            } catch (Exception e) {
+            return run(userInput, taskList, null);
+        } catch (IOException e) {
+            // nothing is written without an output
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs the user input and writes the response to the output. A list or find without a page number
+     * writes every task, one row at a time, instead of only the first page.
+     *
+     * @param userInput user input
+     * @param taskList TaskList to operate on
+     * @param out where the response is written
+     * @throws IOException if the output cannot be written
+     */
+    public void parse(String userInput, TaskList taskList, Appendable out) throws IOException {
+        String response = run(userInput, taskList, out);
+        if (response != null) {
+            out.append(response);
+        }
+    }
+
+    /**
+     * Runs the user input, returning the response, or writing it to the output and returning null
+     * when it is a list of every task and there is an output.
+     * With metrics, the time taken by each phase and the bytes written are recorded; without them the
+     * clock is not read.
+     */
+    private String run(String userInput, TaskList taskList, Appendable out) throws IOException {
+        CommandMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        Operation operation = null;
+        try {
+            CommandTokenizer command = new CommandTokenizer(userInput);
+            operation = command.getOperation();
+            if (operation == null) {
                 throw new InvalidCommandException();
             }
-            String toReturn;
-            switch (operation) {
-            case HELP:
-                toReturn = Ui.help();
-                break;
-            case BYE:
-                toReturn = taskList.exit();
-                break;
-            case LIST:
-                toReturn = taskList.listAllTasks();
-                break;
-            case DELETE:
-                toReturn = delete(userInput, taskList);
-                break;
-            case MARK:
-                toReturn = mark(userInput, taskList);
-                break;
-            case UNMARK:
-                toReturn = unmark(userInput, taskList);
-                break;
-            case TODO:
-                toReturn = todo(userInput, taskList);
-                break;
-            case DEADLINE:
-                toReturn = deadline(userInput, taskList);
-                break;
-            case EVENT:
-                toReturn = event(userInput, taskList);
-                break;
-            case CHECKDATE:
-                toReturn = checkDate(userInput, taskList);
-                break;
-            case FIND:
-                toReturn = find(userInput, taskList);
-                break;
-            default:
-                throw new InvalidCommandException();
+            long parsed = metrics == null ? 0 : System.nanoTime();
+            long bytesBefore = metrics == null ? 0 : storage.getBytesWritten();
+            String toReturn = execute(operation, command, taskList, out);
+            long ran = metrics == null ? 0 : System.nanoTime();
+            if (operation == Operation.BYE) {
+                storage.flush(taskList);
+            } else if (isSaveDue()) {
+                storage.save(taskList);
+            }
+            if (metrics != null) {
+                metrics.record(operation, parsed - start, ran - parsed, System.nanoTime() - ran,
+                        storage.getBytesWritten() - bytesBefore);
             }
-            storage.writeFile(taskList);
             return toReturn;
         } catch (TaskException | InvalidCommandException | EmptyDescriptionException
                  | NotIntegerException | MissingKeywordException e) {
+            if (metrics != null && operation != null) {
+                metrics.recordError(operation);
+            }
             return e.getMessage();
         }
     }
 
     /**
-     * calls the deleteTask function in TaskList
+     * Counts a command and checks if the TaskList should be saved after it
+     */
+    private boolean isSaveDue() {
+        int interval = saveInterval;
+        if (interval <= 0) {
+            return false;
+        }
+        if (unsavedCommands.incrementAndGet() < interval) {
+            return false;
+        }
+        unsavedCommands.set(0);
+        return true;
+    }
+
+    /**
+     * Runs a single command against the TaskList
      *
-     * @param userInput user input
-     * @param taskList taskList to operate on
-     * @throws TaskException exception thrown
-     * @throws NotIntegerException exception thrown
+     * @param operation operation to run
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @param out where a list of every task is written, or null to return it
+     * @return the response to the user, or null if it was written to out
      */
-    public String delete(String userInput, TaskList taskList) throws TaskException, NotIntegerException {
-        String[] parts = userInput.split(" ", 2);
-        if (!isInteger(parts[1])) {
-            throw new NotIntegerException();
+    private String execute(Operation operation, CommandTokenizer command, TaskList taskList, Appendable out)
+            throws TaskException, InvalidCommandException, EmptyDescriptionException, NotIntegerException,
+            MissingKeywordException, IOException {
+        String toReturn;
+        switch (operation) {
+        case HELP:
+            toReturn = Ui.help();
+            break;
+        case BYE:
+            toReturn = taskList.exit();
+            break;
+        case LIST:
+            toReturn = list(command, taskList, out);
+            break;
+        case DELETE:
+            toReturn = delete(command, taskList);
+            break;
+        case MARK:
+            toReturn = mark(command, taskList);
+            break;
+        case UNMARK:
+            toReturn = unMark(command, taskList);
+            break;
+        case TODO:
+            toReturn = todo(command, taskList);
+            break;
+        case DEADLINE:
+            toReturn = deadline(command, taskList);
+            break;
+        case EVENT:
+            toReturn = event(command, taskList);
+            break;
+        case CHECKDATE:
+            toReturn = checkDate(command, taskList);
+            break;
+        case BETWEEN:
+            toReturn = between(command, taskList);
+            break;
+        case FIND:
+            toReturn = find(command, taskList, out);
+            break;
+        case SEARCH:
+            toReturn = search(command, taskList);
+            break;
+        case UPCOMING:
+            toReturn = upcoming(command, taskList);
+            break;
+        case MORE:
+            toReturn = more(taskList);
+            break;
+        case STATS:
+            toReturn = stats(command);
+            break;
+        default:
+            throw new InvalidCommandException();
         }
-        int taskIndex = Integer.parseInt(parts[1]);
-        return taskList.deleteTask(taskIndex);
+        return toReturn;
     }
 
     /**
-     * calls the mark function in taskList
+     * Deletes one task, or all selected tasks in one change
+     * E.g. delete 3, delete 5-500, delete 1,4,9, delete done
      *
-     * @param userInput user input
-     * @param taskList tasklist
-     * @throws EmptyDescriptionException exception
-     * @throws NotIntegerException exception
-     * @throws TaskException exception
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws TaskException if a task number is out of range
      */
-    public String mark(String userInput, TaskList taskList) throws EmptyDescriptionException,
+    private String delete(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
             NotIntegerException, TaskException {
-        String details = extractNoKeywordsDetails(userInput);
-        if (!isInteger(details)) {
-            throw new NotIntegerException();
-        }
-        int taskIndex = Integer.parseInt(details);
-        return taskList.mark(taskIndex);
+        TaskSelection selection = extractSelection(command);
+        return selection.isSingle() ? taskList.deleteTask(selection.first()) : taskList.deleteTasks(selection);
     }
 
     /**
-     * calls the unmark function
+     * Marks one task, or all selected tasks in one change
+     * E.g. mark 3, mark 1-10, mark 1,4,9
      *
-     * @param userInput user input
-     * @param taskList TL
-     * @throws EmptyDescriptionException exception
-     * @throws TaskException exception
-     * @throws NotIntegerException exception
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws TaskException if a task number is out of range
      */
-    public String unmark(String userInput, TaskList taskList) throws EmptyDescriptionException,
-            TaskException, NotIntegerException {
-        String details = extractNoKeywordsDetails(userInput);
-        if (!isInteger(details)) {
-            throw new NotIntegerException();
-        }
-        int taskIndex = Integer.parseInt(details);
-        return taskList.unMark(taskIndex);
+    private String mark(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
+            NotIntegerException, TaskException {
+        TaskSelection selection = extractSelection(command);
+        return selection.isSingle() ? taskList.mark(selection.first()) : taskList.markTasks(selection);
+    }
+
+    /**
+     * Unmarks one task, or all selected tasks in one change
+     * E.g. unmark 3, unmark 1-10, unmark done
+     *
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws TaskException if a task number is out of range
+     */
+    private String unMark(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
+            NotIntegerException, TaskException {
+        TaskSelection selection = extractSelection(command);
+        return selection.isSingle() ? taskList.unMark(selection.first()) : taskList.unMarkTasks(selection);
     }
 
     /**
      * adds a Todo to taskList
      *
-     * @param userInput user input
+     * @param command tokenized user input
      * @param taskList TaskList to operate on
      * @throws EmptyDescriptionException exception
      */
-    public String todo(String userInput, TaskList taskList) throws EmptyDescriptionException {
-        String details = extractNoKeywordsDetails(userInput);
+    private String todo(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException {
+        String details = extractNoKeywordsDetails(command);
         Task todoTask = new Todo(details, false);
         return taskList.addTask(todoTask);
     }
 
     /**
      * adds a deadline to Task List
-     * @param userInput user input
+     * E.g. deadline read the book /by 2023-09-20 18:00
+     *
+     * @param command tokenized user input
      * @param taskList TaskList to operate on
      * @throws EmptyDescriptionException exception
      * @throws MissingKeywordException exception
      */
-    public String deadline(String userInput, TaskList taskList) throws EmptyDescriptionException,
+    private String deadline(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
             MissingKeywordException {
-        String details = extractTaskDetails(userInput, "deadline", "/by");
-        String dateString = extractAfterKeyword(userInput, "/by");
+        String details = extractTaskDetails(command, CommandTokenizer.Keyword.BY);
+        String dateString = extractAfterKeyword(command, CommandTokenizer.Keyword.BY, null);
         String toReturn = "";
         try {
-            LocalDateTime date = LocalDateTime.parse(dateString.trim(), timeFormat);
+            LocalDateTime date = LocalDateTime.parse(dateString, Task.STORAGE_FORMAT);
             Task deadlineTask = new Deadline(details, date, false);
             toReturn = taskList.addTask(deadlineTask);
         } catch (DateTimeParseException e) {
@@ -192,21 +346,22 @@ public class Parser {
 
     /**
      * adds an Event to the TaskList
+     * E.g. event project meeting /from 2023-09-21 14:00 /to 2023-09-21 16:00
      *
-     * @param userInput user input
+     * @param command tokenized user input
      * @param taskList task list
      * @throws EmptyDescriptionException exception
      * @throws MissingKeywordException exception
      */
-    public String event(String userInput, TaskList taskList) throws EmptyDescriptionException,
+    private String event(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
             MissingKeywordException {
-        String details = extractTaskDetails(userInput, "event", "/from");
-        String from = extractAfterKeyword(userInput, "/from", "/to");
-        String to = extractAfterKeyword(userInput, "/to");
+        String details = extractTaskDetails(command, CommandTokenizer.Keyword.FROM);
+        String from = extractAfterKeyword(command, CommandTokenizer.Keyword.FROM, CommandTokenizer.Keyword.TO);
+        String to = extractAfterKeyword(command, CommandTokenizer.Keyword.TO, null);
         String toReturn = "";
         try {
-            LocalDateTime dateFrom = LocalDateTime.parse(from.trim(), timeFormat);
-            LocalDateTime dateTo = LocalDateTime.parse(to.trim(), timeFormat);
+            LocalDateTime dateFrom = LocalDateTime.parse(from, Task.STORAGE_FORMAT);
+            LocalDateTime dateTo = LocalDateTime.parse(to, Task.STORAGE_FORMAT);
             Task eventTask = new Event(details, dateFrom, dateTo, false);
             toReturn = taskList.addTask(eventTask);
         } catch (DateTimeParseException e) {
@@ -218,15 +373,15 @@ public class Parser {
     /**
      * Returns Tasks on a specific date. calls getTasksOnDate() from TaskList
      *
-     * @param userInput user input
+     * @param command tokenized user input
      * @param taskList TaskList to operate on
      * @throws EmptyDescriptionException exception
      */
-    public String checkDate(String userInput, TaskList taskList) throws EmptyDescriptionException {
-        String details = extractNoKeywordsDetails(userInput);
+    private String checkDate(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException {
+        String details = extractNoKeywordsDetails(command);
         String toReturn = "";
         try {
-            LocalDate detailsDate = LocalDate.parse(details.trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            LocalDate detailsDate = LocalDate.parse(details, dateFormat);
             toReturn = taskList.getTasksOnDate(detailsDate);
         } catch (DateTimeParseException e) {
             System.out.println("Error: Invalid date format. Please use the format yyyy-MM-dd");
@@ -235,100 +390,382 @@ public class Parser {
     }
 
     /**
-     * Returns Tasks based on a specific user input keyword
+     * Returns Tasks between two dates. calls getTasksBetween() from TaskList
+     * E.g. between 2023-09-01 2023-09-30
      *
-     * @param userInput user input
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws EmptyDescriptionException exception
+     * @throws TaskException if the dates are invalid
+     */
+    private String between(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
+            TaskException {
+        String dates = extractNoKeywordsDetails(command);
+        int space = dates.indexOf(' ');
+        String second = space < 0 ? "" : dates.substring(space + 1).trim();
+        if (second.isEmpty() || second.indexOf(' ') >= 0) {
+            throw new TaskException("Please give a start and end date, e.g. between 2023-09-01 2023-09-30");
+        }
+        try {
+            LocalDate from = LocalDate.parse(dates.substring(0, space), dateFormat);
+            LocalDate to = LocalDate.parse(second, dateFormat);
+            return taskList.getTasksBetween(from, to);
+        } catch (DateTimeParseException e) {
+            throw new TaskException("Invalid date format. Please use the format yyyy-MM-dd");
+        }
+    }
+
+    /**
+     * Lists the tasks a page at a time.
+     * E.g. list, list 3, list --page-size 20, list 2 --page-size 20
+     * `list archived` lists the archived tasks instead, read from the archive the first time.
+     *
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @param out where every task is written when no page is given, or null to show the first page
+     * @throws NotIntegerException if the page or page size is not an integer
+     * @throws TaskException if the page does not exist
+     */
+    private String list(CommandTokenizer command, TaskList taskList, Appendable out) throws NotIntegerException,
+            TaskException, IOException {
+        String arguments = command.arguments();
+        int page = 1;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        boolean isPaged = false;
+        boolean isArchived = false;
+        int position = skipSpaces(arguments, 0);
+        while (position < arguments.length()) {
+            int end = tokenEnd(arguments, position);
+            String token = arguments.substring(position, end);
+            if (token.equals(ARCHIVED)) {
+                isArchived = true;
+            } else if (token.equals(PAGE_SIZE_FLAG)) {
+                position = skipSpaces(arguments, end);
+                end = tokenEnd(arguments, position);
+                pageSize = pageSize(arguments, position, end);
+                isPaged = true;
+            } else {
+                page = positiveInteger(arguments, position, end);
+                isPaged = true;
+            }
+            position = skipSpaces(arguments, end);
+        }
+        if (out != null && !isPaged && isArchived) {
+            ui.writeArchivedTasks(storage.getArchive().load().returnTaskList(), out);
+            return null;
+        } else if (out != null && !isPaged) {
+            ui.writeAllTasks(taskList.returnTaskList(), out);
+            return null;
+        }
+        return showPage(new Listing(Operation.LIST, null, false, isArchived, page, pageSize), taskList);
+    }
+
+    /**
+     * Returns Tasks based on a specific user input keyword, a page at a time.
+     * `find keyword` matches the keyword anywhere in the description, looked up in the trigram index, as
+     * `find --substring keyword` also does.
+     * `find --prefix keyword` matches descriptions with words starting with every word of the keyword instead,
+     * looked up in the keyword index.
+     * `find --page 2 keyword` shows the second page, `find --page-size 20 keyword` changes the page size.
+     * `find --all keyword` also shows the matching archived tasks, after the ones in the list.
+     *
+     * @param command tokenized user input
      * @param taskList TaskList to operate on
+     * @param out where every match is written when no page is given, or null to show the first page
      * @throws EmptyDescriptionException exception
+     * @throws NotIntegerException if the page or page size is not an integer
+     * @throws TaskException if the page does not exist
+     */
+    private String find(CommandTokenizer command, TaskList taskList, Appendable out) throws EmptyDescriptionException,
+            NotIntegerException, TaskException, IOException {
+        String arguments = extractNoKeywordsDetails(command);
+        int page = 1;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        boolean isPaged = false;
+        boolean isWordPrefix = false;
+        boolean isArchived = false;
+        int position = 0;
+        while (position < arguments.length()) {
+            int end = tokenEnd(arguments, position);
+            String token = arguments.substring(position, end);
+            if (token.equals(SUBSTRING_FLAG) || token.equals(PREFIX_FLAG)) {
+                isWordPrefix = token.equals(PREFIX_FLAG);
+            } else if (token.equals(ALL_FLAG)) {
+                isArchived = true;
+            } else if (token.equals(PAGE_FLAG) || token.equals(PAGE_SIZE_FLAG)) {
+                int valueStart = skipSpaces(arguments, end);
+                end = tokenEnd(arguments, valueStart);
+                if (token.equals(PAGE_FLAG)) {
+                    page = positiveInteger(arguments, valueStart, end);
+                } else {
+                    pageSize = pageSize(arguments, valueStart, end);
+                }
+                isPaged = true;
+            } else {
+                break;
+            }
+            position = skipSpaces(arguments, end);
+        }
+        String keyword = arguments.substring(position);
+        if (keyword.isEmpty()) {
+            throw new EmptyDescriptionException("Description cannot be empty");
+        }
+        Listing listing = new Listing(Operation.FIND, keyword, isWordPrefix, isArchived, page, pageSize);
+        if (out != null && !isPaged) {
+            ui.writeTasksOnDateOrKeyword(matches(listing, taskList), out);
+            return null;
+        }
+        return showPage(listing, taskList);
+    }
+
+    /**
+     * Shows the tasks closest to the query, allowing for typos, best first
+     * E.g. search reprot, search --top 3 buy milk
+     *
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws EmptyDescriptionException if there is no query
+     * @throws NotIntegerException if the number of tasks is not an integer
+     * @throws TaskException if the number of tasks is not positive
+     */
+    private String search(CommandTokenizer command, TaskList taskList) throws EmptyDescriptionException,
+            NotIntegerException, TaskException {
+        String arguments = extractNoKeywordsDetails(command);
+        int limit = DEFAULT_SEARCH_LIMIT;
+        int position = 0;
+        int end = tokenEnd(arguments, position);
+        if (arguments.substring(position, end).equals(TOP_FLAG)) {
+            int valueStart = skipSpaces(arguments, end);
+            end = tokenEnd(arguments, valueStart);
+            if (valueStart == end) {
+                throw new TaskException("Please give a number of tasks, e.g. search --top 5 report");
+            }
+            limit = positiveInteger(arguments, valueStart, end);
+            position = skipSpaces(arguments, end);
+        }
+        String query = arguments.substring(position);
+        if (query.isEmpty()) {
+            throw new EmptyDescriptionException("Description cannot be empty");
+        }
+        return taskList.searchTasks(query, limit);
+    }
+
+    /**
+     * Shows the next unmarked deadlines and events from now on, soonest first
+     * E.g. upcoming, upcoming 5
+     *
+     * @param command tokenized user input
+     * @param taskList TaskList to operate on
+     * @throws NotIntegerException if the number of tasks is not an integer
+     * @throws TaskException if the number of tasks is not positive
+     */
+    private String upcoming(CommandTokenizer command, TaskList taskList) throws NotIntegerException,
+            TaskException {
+        int count = DEFAULT_UPCOMING_COUNT;
+        if (command.hasArguments()) {
+            String arguments = command.arguments();
+            count = positiveInteger(arguments, 0, arguments.length());
+        }
+        return taskList.upcomingTasks(count);
+    }
+
+    /**
+     * Shows the next page of the last list or find
+     *
+     * @param taskList TaskList to operate on
+     * @throws TaskException if there was no list or find, or it has no more pages
+     */
+    private String more(TaskList taskList) throws TaskException, IOException {
+        Listing listing = lastListing;
+        if (listing == null) {
+            throw new TaskException("Nothing more to show, use list or find first");
+        }
+        return showPage(listing.next(), taskList);
+    }
+
+    /**
+     * Shows the metrics recorded since the start, or clears them
+     * E.g. stats, stats reset
+     *
+     * @param command tokenized user input
+     * @throws TaskException if metrics are turned off
+     * @throws InvalidCommandException if the argument is not reset
+     */
+    private String stats(CommandTokenizer command) throws TaskException, InvalidCommandException {
+        CommandMetrics metrics = this.metrics;
+        if (metrics == null) {
+            throw new TaskException("Metrics are turned off, start with -Dduke.metrics=true to record them");
+        }
+        if (!command.hasArguments()) {
+            return metrics.getReport();
+        }
+        if (!command.arguments().trim().equalsIgnoreCase("reset")) {
+            throw new InvalidCommandException();
+        }
+        metrics.reset();
+        return "Metrics cleared.\n";
+    }
+
+    /**
+     * Shows one page of a list or find and remembers it for `more`
+     */
+    private String showPage(Listing listing, TaskList taskList) throws TaskException, IOException {
+        if (listing.operation == Operation.LIST && !listing.isArchived) {
+            // the page is shown from the first tasks if they are loaded, waiting for the rest only if not
+            int shownCount = (int) Math.min((long) listing.page * listing.pageSize, Integer.MAX_VALUE);
+            TaskList.Snapshot loaded = taskList.snapshotWith(shownCount);
+            if (!loaded.isComplete()) {
+                lastListing = listing;
+                return ui.printLoadingPage(loaded.getTasks(), listing.page, listing.pageSize);
+            }
+        }
+        List<Task> tasks = listing.operation != Operation.LIST ? matches(listing, taskList)
+                : listing.isArchived ? storage.getArchive().load().returnTaskList() : taskList.returnTaskList();
+        int pageCount = Ui.pageCount(tasks.size(), listing.pageSize);
+        if (listing.page > pageCount) {
+            lastListing = null;
+            throw new TaskException("Page " + listing.page + " does not exist, there are " + pageCount + " pages");
+        }
+        lastListing = listing.page < pageCount ? listing : null;
+        if (listing.operation != Operation.LIST) {
+            return ui.printMatchingPage(tasks, listing.page, listing.pageSize);
+        }
+        return listing.isArchived
+                ? ui.printArchivedPage(tasks, listing.page, listing.pageSize)
+                : ui.printTaskPage(tasks, listing.page, listing.pageSize);
+    }
+
+    /**
+     * Returns the tasks matching a find, with the matching archived tasks after them for an archived find,
+     * which reads the archive if it has not been read yet
+     */
+    private List<Task> matches(Listing listing, TaskList taskList) throws IOException {
+        if (!listing.isArchived) {
+            return matchesIn(listing, taskList);
+        }
+        List<Task> tasks = new ArrayList<>(matchesIn(listing, taskList));
+        tasks.addAll(matchesIn(listing, storage.getArchive().load()));
+        return tasks;
+    }
+
+    private static List<Task> matchesIn(Listing listing, TaskList taskList) {
+        return listing.isWordPrefix
+                ? taskList.getTasksWithKeyword(listing.keyword)
+                : taskList.getTasksContaining(listing.keyword);
+    }
+
+    private static int pageSize(String arguments, int from, int to) throws NotIntegerException, TaskException {
+        if (from == to) {
+            throw new TaskException("Please give a page size, e.g. list --page-size 50");
+        }
+        return positiveInteger(arguments, from, to);
+    }
+
+    private static int positiveInteger(String arguments, int from, int to) throws NotIntegerException,
+            TaskException {
+        long value = CommandTokenizer.parseInteger(arguments, from, to);
+        if (value == CommandTokenizer.NOT_INTEGER) {
+            throw new NotIntegerException();
+        }
+        if (value <= 0) {
+            throw new TaskException("Pages and page sizes start from 1");
+        }
+        return (int) value;
+    }
+
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int tokenEnd(String text, int from) {
+        int i = from;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Helper function to extract the selected tasks for functions of:
+     * delete, mark, unmark
+     *
+     * @param command tokenized user input
+     * @return the selection
+     * @throws EmptyDescriptionException if nothing is selected
+     * @throws NotIntegerException if a task number is not an integer
+     * @throws TaskException if a range ends before it starts
      */
-    public String find(String userInput, TaskList taskList) throws EmptyDescriptionException {
-        String keyword = extractNoKeywordsDetails(userInput);
-        return taskList.findTasks(keyword, taskList);
+    private TaskSelection extractSelection(CommandTokenizer command) throws EmptyDescriptionException,
+            NotIntegerException, TaskException {
+        if (!command.hasArguments()) {
+            throw new EmptyDescriptionException("Description cannot be empty");
+        }
+        long index = command.integerArgument();
+        if (index != CommandTokenizer.NOT_INTEGER) {
+            return TaskSelection.of((int) index);
+        }
+        return TaskSelection.parse(command.arguments());
     }
 
     /**
      * Helper function to extract details for functions of:
-     * mark, unmark, Todo
+     * Todo, checkdate, between, find
      *
-     * @param userInput user input
+     * @param command tokenized user input
      * @return details in string representation
      * @throws EmptyDescriptionException if no details
      */
-    private String extractNoKeywordsDetails(String userInput) throws EmptyDescriptionException {
-        String[] parts = userInput.toLowerCase().split(" ", 2);
-        if (parts.length == 1 || parts[1].isBlank()) {
+    private String extractNoKeywordsDetails(CommandTokenizer command) throws EmptyDescriptionException {
+        if (!command.hasArguments()) {
             throw new EmptyDescriptionException("Description cannot be empty");
         }
-        return parts[1];
+        return command.arguments();
     }
 
     /**
-     * Extracts the task details in between `command` and `keyword`.
+     * Extracts the task details in between the command and `keyword`.
      * E.g. deadline read the book /by tuesday
      *      -> extracts `read the book`
      *
-     * @param userInput string input by user.
-     * @param commandAndKeyword todo/deadline/event
+     * @param command tokenized user input
+     * @param keyword keyword ending the description
      * @return string in between command and keyword
      */
-    private String extractTaskDetails(String userInput, String... commandAndKeyword)
+    private String extractTaskDetails(CommandTokenizer command, CommandTokenizer.Keyword keyword)
             throws EmptyDescriptionException, MissingKeywordException {
-        String[] tokens = userInput.toLowerCase().split(commandAndKeyword[0], 2);
-        if (tokens.length == 0 || tokens[1].isBlank()) {
+        if (!command.hasArguments()) {
             throw new EmptyDescriptionException("Task description cannot be empty");
         }
-        String detailsWithKeyword = tokens[1];
-        int endIndex = detailsWithKeyword.indexOf(commandAndKeyword[1]);
-        if (endIndex == -1) {
-            throw new MissingKeywordException("Missing keyword: " + commandAndKeyword[1]);
+        if (!command.hasKeyword(keyword)) {
+            throw new MissingKeywordException("Missing keyword: " + keyword.getText());
         }
-        String toReturn = detailsWithKeyword.substring(0, endIndex).trim();
+        String toReturn = command.before(keyword);
         if (toReturn.isEmpty()) {
             throw new EmptyDescriptionException("Task description cannot be empty");
         }
         return toReturn;
     }
 
-
     /**
-     * Extracts the details after the keyword.
+     * Extracts the details after the keyword, up to the next keyword if there is one.
      * E.g. event go to school /from mon 2pm /to tues 3pm
      *      -> extracts `mon 2pm`
      *
-     * @param userInput string input by user.
-     * @param keywords the keywords in use
+     * @param command tokenized user input
+     * @param keyword the keyword the details follow
+     * @param next the keyword ending the details, or null if they run to the end
      * @return string after keyword/ between 2 keywords.
      */
-    private String extractAfterKeyword(String userInput, String... keywords) throws EmptyDescriptionException {
-        String[] tokens = userInput.toLowerCase().split(keywords[0]);
-        if (tokens.length == 1 || tokens[1].isBlank()) {
-            throw new EmptyDescriptionException("Details after " + keywords[0] + " cannot be empty");
-        }
-        if (keywords.length == 1) {
-            return tokens[1];
-        }
-        String[] tokensAfterSecondKeyword = tokens[1].split(keywords[1]);
-        if (tokensAfterSecondKeyword[0].isBlank()) {
-            throw new EmptyDescriptionException("Details after " + keywords[0] + " cannot be empty");
-        }
-        return tokensAfterSecondKeyword[0];
-    }
-
-    /**
-     * the method isInteger to judge whether input is integer
-     * @param input
-     * @return boolean
-     */
-    private boolean isInteger(String input) {
-        if (input == null) {
-            return false;
-        } else {
-            try {
-                Integer.parseInt(input);
-                return true;
-            } catch (NumberFormatException nfe) {
-                return false;
-            }
+    private String extractAfterKeyword(CommandTokenizer command, CommandTokenizer.Keyword keyword,
+            CommandTokenizer.Keyword next) throws EmptyDescriptionException {
+        String details = next == null ? command.after(keyword) : command.after(keyword, next);
+        if (details.isEmpty()) {
+            throw new EmptyDescriptionException("Details after " + keyword.getText() + " cannot be empty");
         }
+        return details;
     }
 }
@@ -0,0 +1,250 @@
+package seedu.duke.utils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+
+/**
+ * Reminds of unmarked deadlines and events shortly before they are due, on a hashed timing wheel.
+ * The wheel is an array of buckets, one per tick. A reminder goes into the bucket of the tick it is due at,
+ * modulo the number of buckets, with the number of whole turns of the wheel left until then, so every tick
+ * the timer thread looks at a single bucket, and adding or firing a reminder takes constant time however
+ * many are waiting.
+ * Only the tasks due within the next HORIZON_MINUTES are on the wheel. As time moves on, the next stretch is
+ * read from the date index of the TaskList, which skips marked tasks, and tasks added or unmarked within the
+ * stretch already read are put on the wheel as the TaskList reports them, so the list is never scanned.
+ * Marking or deleting a task leaves its reminder on the wheel; when it comes up, the reminder only fires if
+ * its task is still there, not done and due at the same time.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** Minutes before a deadline or the start of an event that it is reminded of when no lead is given */
+    public static final long DEFAULT_LEAD_MINUTES = 15;
+
+    private static final long HORIZON_MINUTES = 60;
+    private static final long DEFAULT_TICK_MILLIS = 1000;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final TaskList taskList;
+    private final long leadMinutes;
+    private final Consumer<String> notifier;
+    private final Clock clock;
+    private final long tickMillis;
+    private final Reminder[] buckets;
+    private final Ui ui = new Ui();
+    private final Queue<Reminder> added = new ConcurrentLinkedQueue<>();
+    // task ID to the minute it is due, for the tasks with a reminder on the wheel or on its way there
+    private final Map<Long, Long> scheduled = new ConcurrentHashMap<>();
+    private volatile long horizonMinute = Long.MIN_VALUE;
+    private ScheduledExecutorService timer;
+    private boolean isStopped;
+    private long startMillis;
+    private long tick;
+
+    /**
+     * constructor for ReminderScheduler, ticking once a second on the system clock
+     *
+     * @param taskList tasks to remind of
+     * @param leadMinutes how many minutes before a task is due to remind of it
+     * @param notifier receives each reminder, on the timer thread
+     */
+    public ReminderScheduler(TaskList taskList, long leadMinutes, Consumer<String> notifier) {
+        this(taskList, leadMinutes, notifier, Clock.systemDefaultZone(), DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * constructor for ReminderScheduler
+     *
+     * @param taskList tasks to remind of
+     * @param leadMinutes how many minutes before a task is due to remind of it
+     * @param notifier receives each reminder, on the timer thread
+     * @param clock clock the due times are compared with
+     * @param tickMillis length of a tick
+     * @param wheelSize number of buckets, a power of two
+     */
+    public ReminderScheduler(TaskList taskList, long leadMinutes, Consumer<String> notifier, Clock clock,
+            long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.taskList = taskList;
+        this.leadMinutes = leadMinutes;
+        this.notifier = notifier;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.buckets = new Reminder[wheelSize];
+    }
+
+    /**
+     * Starts reminding of the tasks due from now on, on a daemon timer thread. Does nothing once stopped.
+     */
+    public synchronized void start() {
+        if (isStopped || timer != null) {
+            return;
+        }
+        startMillis = nowMillis();
+        horizonMinute = Math.floorDiv(startMillis, MILLIS_PER_MINUTE);
+        taskList.addListener(this);
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::advance, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer thread
+     */
+    public synchronized void stop() {
+        isStopped = true;
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        scheduleIfRead(task);
+    }
+
+    @Override
+    public void taskDeleted(int index) {
+        // the reminder is dropped when it comes up
+    }
+
+    @Override
+    public void taskMarked(int index, boolean isMarked) {
+        if (!isMarked) {
+            scheduleIfRead(taskList.snapshot().getTasks().get(index - 1));
+        }
+    }
+
+    /**
+     * Puts a task on the wheel if it is due within the stretch already read from the date index, and not
+     * already past; a task due later is read with its stretch
+     */
+    private void scheduleIfRead(Task task) {
+        if (!DateIndex.isDated(task)) {
+            return;
+        }
+        long minute = DateIndex.startOf(task);
+        if (minute < horizonMinute && minute >= Math.floorDiv(nowMillis(), MILLIS_PER_MINUTE)) {
+            schedule(task, minute);
+        }
+    }
+
+    private void schedule(Task task, long minute) {
+        if (task.isMarked()) {
+            return;
+        }
+        Long previous = scheduled.put(task.getId(), minute);
+        if (previous == null || previous != minute) {
+            added.add(new Reminder(task.getId(), minute, (minute - leadMinutes) * MILLIS_PER_MINUTE));
+        }
+    }
+
+    /**
+     * Moves the wheel on to the current time, one tick at a time, firing the reminders that come up.
+     * Runs on the timer thread only.
+     */
+    private void advance() {
+        try {
+            long now = nowMillis();
+            readAhead(Math.floorDiv(now, MILLIS_PER_MINUTE));
+            for (Reminder reminder = added.poll(); reminder != null; reminder = added.poll()) {
+                place(reminder);
+            }
+            long target = (now - startMillis) / tickMillis;
+            for (; tick <= target; tick++) {
+                fireBucket((int) (tick & (buckets.length - 1)));
+            }
+        } catch (RuntimeException e) {
+            // an exception would cancel every later tick
+            System.out.println("Error while checking reminders: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the tasks due in the next stretch from the date index. The end of the stretch moves before
+     * it is read, so a task added meanwhile is put on the wheel by the read or by scheduleIfRead, or both.
+     */
+    private void readAhead(long nowMinute) {
+        long end = nowMinute + leadMinutes + HORIZON_MINUTES;
+        long from = horizonMinute;
+        if (end <= from) {
+            return;
+        }
+        horizonMinute = end;
+        for (Task task : taskList.getUpcomingTasks(Task.fromEpochMinute(from), Task.fromEpochMinute(end),
+                Integer.MAX_VALUE)) {
+            schedule(task, DateIndex.startOf(task));
+        }
+    }
+
+    private void place(Reminder reminder) {
+        long dueTick = Math.max(tick, Math.floorDiv(reminder.remindMillis - startMillis, tickMillis));
+        reminder.rounds = (dueTick - tick) / buckets.length;
+        int bucket = (int) (dueTick & (buckets.length - 1));
+        reminder.next = buckets[bucket];
+        buckets[bucket] = reminder;
+    }
+
+    private void fireBucket(int bucket) {
+        Reminder reminder = buckets[bucket];
+        Reminder kept = null;
+        while (reminder != null) {
+            Reminder next = reminder.next;
+            if (reminder.rounds > 0) {
+                reminder.rounds--;
+                reminder.next = kept;
+                kept = reminder;
+            } else {
+                fire(reminder);
+            }
+            reminder = next;
+        }
+        buckets[bucket] = kept;
+    }
+
+    private void fire(Reminder reminder) {
+        scheduled.remove(reminder.id, reminder.minute);
+        Task task = taskList.getTask(reminder.id);
+        if (task != null && !task.isMarked() && DateIndex.startOf(task) == reminder.minute) {
+            notifier.accept(ui.printReminder(task));
+        }
+    }
+
+    /**
+     * Returns the time on the clock in milliseconds since 1970-01-01 00:00 local time, as the due times of
+     * tasks are kept
+     */
+    private long nowMillis() {
+        return LocalDateTime.now(clock).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static class Reminder {
+        private final long id;
+        private final long minute;
+        private final long remindMillis;
+        private long rounds;
+        private Reminder next;
+
+        Reminder(long id, long minute, long remindMillis) {
+            this.id = id;
+            this.minute = minute;
+            this.remindMillis = remindMillis;
+        }
+    }
+}
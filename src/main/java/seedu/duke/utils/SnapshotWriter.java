@@ -0,0 +1,166 @@
+package seedu.duke.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces a file through a FileChannel, encoding into one direct buffer that is reused for every write,
+ * so saving neither builds the whole file in memory nor copies it into a temporary direct buffer.
+ * The content goes to a temporary file that is then renamed over the target, so a reader or a crash
+ * never sees a half written file. When the FsyncPolicy forces a write, the temporary file is forced before
+ * the rename and the directory after it; otherwise the file is forced later, or never.
+ * Not thread safe, the Storage writes through it under its lock.
+ */
+class SnapshotWriter {
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // the encoder only takes its fast path between arrays, so text is encoded here and copied to the buffer
+    private final ByteBuffer encoded = ByteBuffer.allocate(BUFFER_SIZE);
+    private CharBuffer chars = CharBuffer.allocate(256);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final FsyncPolicy.FileSync sync;
+    private FileChannel channel;
+    private long written;
+
+    SnapshotWriter(FsyncPolicy policy) {
+        this.sync = policy.forFile();
+    }
+
+    /**
+     * Writes the content of a file
+     */
+    interface Content {
+        void writeTo(SnapshotWriter out) throws IOException;
+    }
+
+    /**
+     * Replaces the target with the given content
+     *
+     * @param target file to replace
+     * @param content writes the new content through append
+     * @return number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    long replace(Path target, Content content) throws IOException {
+        Path temp = Paths.get(target + ".tmp");
+        boolean isForced = sync.isDue();
+        buffer.clear();
+        encoded.clear();
+        written = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel = out;
+            content.writeTo(this);
+            drain();
+            if (isForced) {
+                out.force(false);
+            }
+        } finally {
+            channel = null;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (isForced) {
+            forceDirectory(target);
+        } else {
+            sync.later(() -> {
+                forceFile(target);
+                forceDirectory(target);
+            });
+        }
+        return written;
+    }
+
+    /**
+     * Appends text encoded as UTF-8. The text is encoded on its own, so it must not end halfway through
+     * a surrogate pair.
+     */
+    void append(StringBuilder text) throws IOException {
+        if (text.length() > chars.capacity()) {
+            chars = CharBuffer.allocate(Math.max(text.length(), chars.capacity() * 2));
+        }
+        chars.clear();
+        text.getChars(0, text.length(), chars.array(), 0);
+        chars.limit(text.length());
+        while (encoder.encode(chars, encoded, true).isOverflow()) {
+            drain();
+        }
+        encoder.reset();
+    }
+
+    /**
+     * Appends raw bytes
+     */
+    void append(byte[] bytes) throws IOException {
+        moveEncoded();
+        int offset = 0;
+        while (offset < bytes.length) {
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+        }
+    }
+
+    private void moveEncoded() throws IOException {
+        encoded.flip();
+        while (encoded.hasRemaining()) {
+            int length = Math.min(buffer.remaining(), encoded.remaining());
+            buffer.put(encoded.array(), encoded.position(), length);
+            encoded.position(encoded.position() + length);
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+        }
+        encoded.clear();
+    }
+
+    /**
+     * Writes everything appended so far to the file
+     */
+    private void drain() throws IOException {
+        moveEncoded();
+        writeBuffer();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void forceFile(Path file) throws IOException {
+        try (FileChannel forced = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            forced.force(false);
+        }
+    }
+
+    /**
+     * Forces the rename into the directory of the file. Not every platform can open a directory,
+     * e.g. Windows, where the rename is left to the file system.
+     */
+    private static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel forced = FileChannel.open(directory, StandardOpenOption.READ)) {
+            forced.force(true);
+        } catch (IOException e) {
+            // the directory cannot be forced on this platform
+        }
+    }
+}
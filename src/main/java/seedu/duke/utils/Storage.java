@@ -2,14 +2,22 @@ package seedu.duke.utils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
+import seedu.duke.exceptions.TaskException;
 import seedu.duke.tasks.Deadline;
 import seedu.duke.tasks.Event;
 import seedu.duke.tasks.Task;
@@ -19,8 +27,26 @@ import seedu.duke.tasks.Todo;
  * Storage
  */
 public class Storage {
+    public static final int DEFAULT_COMPACT_THRESHOLD = 10000;
+    public static final long DEFAULT_FLUSH_WINDOW_MILLIS = 200;
+    public static final int DEFAULT_FIRST_LOAD = 1000;
+    public static final long DEFAULT_ARCHIVE_DAYS = 30;
+    private static final String SEPARATOR = " | ";
+
     private String filePath;
-    private final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final String binaryPath;
+    private final Format format;
+    private final Mode mode;
+    private TaskJournal journal;
+    private WriteBehindFlusher flusher;
+    private final ParallelTaskLoader loader = new ParallelTaskLoader(ForkJoinPool.commonPool());
+    private TaskList attachedList;
+    private volatile long savedVersion;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final SnapshotWriter snapshotWriter;
+    private final TaskArchive archive;
+    private CompletionTimes completionTimes;
+    private final StringBuilder line = new StringBuilder();
 
     /**
      * constructor for Storage class
@@ -28,46 +54,226 @@ public class Storage {
      * @param filePath file path of duke.txt
      */
     public Storage(String filePath) {
+        this(filePath, Mode.SNAPSHOT);
+    }
+
+    /**
+     * constructor for Storage class
+     *
+     * @param filePath file path of duke.txt
+     * @param mode how changes to the TaskList are persisted
+     */
+    public Storage(String filePath, Mode mode) {
+        this(filePath, Format.TEXT, mode);
+    }
+
+    /**
+     * constructor for Storage class
+     *
+     * @param filePath file path of duke.txt
+     * @param format on-disk format of the snapshot
+     * @param mode how changes to the TaskList are persisted
+     */
+    public Storage(String filePath, Format format, Mode mode) {
+        this(filePath, format, mode, DEFAULT_COMPACT_THRESHOLD, DEFAULT_FLUSH_WINDOW_MILLIS);
+    }
+
+    /**
+     * constructor for Storage class
+     *
+     * @param filePath file path of duke.txt
+     * @param format on-disk format of the snapshot
+     * @param mode how changes to the TaskList are persisted
+     * @param compactThreshold number of journal records after which the journal is folded into the snapshot
+     * @param flushWindowMillis how long write behind mode waits to merge changes into one write
+     */
+    public Storage(String filePath, Format format, Mode mode, int compactThreshold, long flushWindowMillis) {
+        this(filePath, format, mode, compactThreshold, flushWindowMillis, FsyncPolicy.NEVER);
+    }
+
+    /**
+     * constructor for Storage class
+     *
+     * @param filePath file path of duke.txt
+     * @param format on-disk format of the snapshot
+     * @param mode how changes to the TaskList are persisted
+     * @param compactThreshold number of journal records after which the journal is folded into the snapshot
+     * @param flushWindowMillis how long write behind mode waits to merge changes into one write
+     * @param fsyncPolicy when the snapshot and the journal are forced to disk
+     */
+    public Storage(String filePath, Format format, Mode mode, int compactThreshold, long flushWindowMillis,
+            FsyncPolicy fsyncPolicy) {
         this.filePath = filePath;
+        this.binaryPath = filePath.endsWith(".txt")
+                ? filePath.substring(0, filePath.length() - ".txt".length()) + ".bin"
+                : filePath + ".bin";
+        this.format = format;
+        this.mode = mode;
+        this.snapshotWriter = new SnapshotWriter(fsyncPolicy);
+        this.archive = new TaskArchive(filePath + ".archive");
+        if (mode == Mode.JOURNAL) {
+            this.journal = new TaskJournal(this, filePath + ".journal", compactThreshold, fsyncPolicy);
+        } else if (mode == Mode.WRITE_BEHIND) {
+            this.flusher = new WriteBehindFlusher(this, flushWindowMillis);
+        }
+    }
+
+    /**
+     * ENUMS
+     * TEXT keeps the snapshot in the human readable duke.txt,
+     * BINARY keeps it in a compact duke.bin that is memory mapped on startup
+     */
+    public enum Format {
+        TEXT, BINARY
+    }
+
+    /**
+     * ENUMS
+     * SNAPSHOT rewrites duke.txt after every command that changed the TaskList,
+     * JOURNAL appends each change to duke.txt.journal and folds it into duke.txt in the background,
+     * WRITE_BEHIND rewrites duke.txt on a writer thread, merging changes made close together
+     */
+    public enum Mode {
+        SNAPSHOT, JOURNAL, WRITE_BEHIND
     }
 
     /**
-     * Write the TaskList to file
+     * Starts tracking changes made to the TaskList, and keeps the IDs of archived tasks from being given to
+     * new ones
+     *
+     * @param taskList TaskList read from this storage
+     */
+    public void attach(TaskList taskList) {
+        this.attachedList = taskList;
+        this.savedVersion = taskList.getVersion();
+        try {
+            taskList.reserveIds(archive.nextId());
+        } catch (IOException e) {
+            System.out.println("Error while reading the archive: " + e.getMessage());
+        }
+        if (journal != null) {
+            taskList.addListener(journal);
+        }
+    }
+
+    /**
+     * Persists the TaskList after a command according to the storage mode.
+     * Nothing is written if the TaskList has not changed since it was last saved. A snapshot is only
+     * written once every task has been loaded, so a change made while the rest are loading is saved then.
+     *
+     * @param taskList TaskList to be saved
+     */
+    public void save(TaskList taskList) {
+        long version = taskList.getVersion();
+        if (version == savedVersion) {
+            return;
+        }
+        if (mode != Mode.JOURNAL && !taskList.isLoaded()) {
+            taskList.whenLoaded(() -> save(taskList));
+            return;
+        }
+        switch (mode) {
+        case JOURNAL:
+            journal.flush();
+            savedVersion = version;
+            break;
+        case WRITE_BEHIND:
+            flusher.schedule(taskList);
+            break;
+        default:
+            writeFile(taskList);
+            break;
+        }
+    }
+
+    /**
+     * Persists the TaskList and waits until it is on disk
+     *
+     * @param taskList TaskList to be saved
+     */
+    public void flush(TaskList taskList) {
+        if (!taskList.waitUntilLoaded()) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.flush(taskList);
+        } else {
+            save(taskList);
+        }
+    }
+
+    /**
+     * Flushes any pending changes and stops the background threads
+     */
+    public void close() {
+        if (attachedList != null && !attachedList.waitUntilLoaded()) {
+            System.out.println("Not saving, as not every task could be loaded");
+        } else if (flusher != null && attachedList != null) {
+            flusher.close(attachedList);
+        } else if (attachedList != null) {
+            save(attachedList);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Write the TaskList to file. The tasks are taken from a snapshot, so commands are not blocked.
+     * Nothing is written while some tasks are still loading.
      *
      * @param taskList TaskList to be written to duke.txt
      */
     public void writeFile(TaskList taskList) {
+        TaskList.Snapshot snapshot = taskList.snapshot();
+        if (!snapshot.isComplete()) {
+            return;
+        }
+        writeVersion(snapshot.getTasks(), snapshot.getVersion());
+    }
+
+    /**
+     * Writes the TaskList to the snapshot if it changed since it was last saved
+     *
+     * @param taskList TaskList to be written to the snapshot
+     */
+    void writeIfChanged(TaskList taskList) {
+        TaskList.Snapshot snapshot = taskList.snapshot();
+        if (snapshot.getVersion() == savedVersion || !snapshot.isComplete()) {
+            return;
+        }
+        writeVersion(snapshot.getTasks(), snapshot.getVersion());
+    }
+
+    /**
+     * Writes the tasks unless a later version is already on disk, which can happen when
+     * commands from several threads save at the same time
+     */
+    private synchronized void writeVersion(List<Task> tasks, long version) {
+        if (version < savedVersion) {
+            return;
+        }
         try {
-            File file = new File(filePath);
-            FileWriter writer = new FileWriter(file);
-            for (Task task : taskList.returnTaskList()) {
-                writer.write(task.writeFormat() + "\n");
-            }
-            writer.close();
+            writeSnapshot(tasks);
+            savedVersion = version;
         } catch (IOException e) {
             System.out.println("Error while saving tasks to file: " + e.getMessage());
         }
     }
 
     /**
-     * Read from duke.txt file
+     * Read from duke.txt file, replaying the journal on top of it in journal mode
      *
      * @return Tasklist
      * @throws IOException throws any error
      */
     public List<Task> readFile() throws IOException {
         List<Task> taskList = new ArrayList<>();
+        if (journal != null) {
+            journal.recover();
+        }
         try {
-            File myData = new File(filePath);
-            Scanner scanner = new Scanner(myData);
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                Task task = parseTaskFromLine(line);
-                if (task != null) {
-                    taskList.add(task);
-                }
-            }
-            scanner.close();
+            taskList = readSnapshot();
         } catch (FileNotFoundException e) {
             if (new File("data").mkdir()) {
                 System.out.println("data folder does not exist, create now");
@@ -75,33 +281,279 @@ public class Storage {
                 System.out.println("duke.txt file not exist, create now");
             }
         }
+        if (journal != null) {
+            journal.replay(taskList);
+        }
+        return taskList;
+    }
+
+    /**
+     * Reads the first tasks and leaves the rest to be read in the background, so that a large file does not
+     * delay the start. Everything is read up front if there is a journal to replay, as a record may change
+     * any task, or if duke.txt has yet to be migrated to duke.bin.
+     *
+     * @param count number of tasks to read up front, 0 to read all of them
+     * @return the tasks read and the ones still being read
+     * @throws IOException if the first tasks cannot be read
+     */
+    public TaskLoad readFirst(int count) throws IOException {
+        Path target = snapshotPath();
+        if (count <= 0 || !Files.exists(target) || (journal != null && journal.hasRecords())) {
+            return TaskLoad.of(readFile());
+        }
+        if (format == Format.BINARY) {
+            BinarySnapshot.Reader reader = BinarySnapshot.open(target);
+            List<Task> first = reader.read(count);
+            return new TaskLoad(first, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return reader.read(Integer.MAX_VALUE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        ParallelTaskLoader.Result first = loader.loadFirst(target, count);
+        printErrors(first);
+        return new TaskLoad(first.getTasks(), CompletableFuture.supplyAsync(() -> {
+            ParallelTaskLoader.Result rest = loader.loadRest(first);
+            printErrors(rest);
+            return rest.getTasks();
+        }));
+    }
+
+    /**
+     * Reads the tasks in the snapshot, without any journal applied.
+     * In binary format an existing duke.txt is migrated to duke.bin the first time it is read.
+     *
+     * @return tasks in the snapshot
+     * @throws FileNotFoundException if there is no snapshot
+     * @throws IOException if the snapshot cannot be read
+     */
+    List<Task> readSnapshot() throws IOException {
+        if (format == Format.TEXT) {
+            return readTextFile();
+        }
+        Path binary = Paths.get(binaryPath);
+        if (Files.exists(binary)) {
+            return BinarySnapshot.read(binary);
+        }
+        List<Task> taskList = readTextFile();
+        writeSnapshot(taskList);
+        System.out.println("Migrated " + filePath + " to " + binaryPath);
         return taskList;
     }
 
+    private List<Task> readTextFile() throws IOException {
+        ParallelTaskLoader.Result result = loader.load(Paths.get(filePath));
+        printErrors(result);
+        return result.getTasks();
+    }
+
+    private void printErrors(ParallelTaskLoader.Result result) {
+        for (String error : result.getErrors()) {
+            System.out.println("Skipped malformed task in " + filePath + " at " + error);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given tasks. The tasks are written to a temporary file first
+     * so that a reader never sees a half written snapshot.
+     *
+     * @param tasks tasks to write
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void writeSnapshot(List<Task> tasks) throws IOException {
+        bytesWritten.addAndGet(snapshotWriter.replace(snapshotPath(), out -> encode(tasks, out)));
+    }
+
     /**
-     * helper function
+     * Writes the tasks to the folded snapshot, which replaces the snapshot once commitFoldedSnapshot is
+     * called, see TaskJournal
+     *
+     * @param tasks tasks to write
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void writeFoldedSnapshot(List<Task> tasks) throws IOException {
+        bytesWritten.addAndGet(snapshotWriter.replace(foldedPath(), out -> encode(tasks, out)));
+    }
+
+    /**
+     * Replaces the snapshot with the folded snapshot
+     *
+     * @throws IOException if the folded snapshot cannot be moved
+     */
+    synchronized void commitFoldedSnapshot() throws IOException {
+        Files.move(foldedPath(), snapshotPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    synchronized void discardFoldedSnapshot() throws IOException {
+        Files.deleteIfExists(foldedPath());
+    }
+
+    boolean hasFoldedSnapshot() {
+        return Files.exists(foldedPath());
+    }
+
+    private Path snapshotPath() {
+        return Paths.get(format == Format.BINARY ? binaryPath : filePath);
+    }
+
+    private Path foldedPath() {
+        return Paths.get(snapshotPath() + ".folded");
+    }
+
+    /**
+     * Returns the archive of done tasks kept next to duke.txt
+     */
+    public TaskArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Moves the tasks marked as done before the cutoff into the archive, see TaskList#archiveTasks, and saves
+     * the TaskList without them. From the first call on, the time each task is marked is recorded in
+     * duke.txt.done; a task already done then, with no time recorded, is taken as done at that time.
+     *
+     * @param taskList TaskList to archive tasks from
+     * @param cutoff tasks marked before this are archived
+     * @return number of tasks archived
+     */
+    public int archive(TaskList taskList, LocalDateTime cutoff) {
+        try {
+            if (completionTimes == null) {
+                completionTimes = new CompletionTimes(filePath + ".done", taskList);
+                taskList.addListener(completionTimes);
+            }
+            long nowMinute = Task.toEpochMinute(LocalDateTime.now());
+            long cutoffMinute = Task.toEpochMinute(cutoff);
+            Map<Long, Long> times = completionTimes.read();
+            int count = taskList.archiveTasks(archive, id -> times.getOrDefault(id, nowMinute) < cutoffMinute);
+            completionTimes.rewrite(times, nowMinute);
+            if (count > 0) {
+                save(taskList);
+            }
+            return count;
+        } catch (IOException e) {
+            System.out.println("Error while archiving done tasks: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the snapshot and the journal so far
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get() + (journal == null ? 0 : journal.getBytesWritten());
+    }
+
+    /**
+     * Writes the tasks one line at a time, so the text of the whole file is never held in memory
+     */
+    private void encode(List<Task> tasks, SnapshotWriter out) throws IOException {
+        if (format == Format.BINARY) {
+            out.append(BinarySnapshot.encode(tasks));
+            return;
+        }
+        long id = 0;
+        for (Task task : tasks) {
+            long previousId = id;
+            id = TaskList.idAfter(previousId, task);
+            line.setLength(0);
+            if (id != previousId + 1) {
+                line.append(id).append(SEPARATOR);
+            }
+            line.append(task.writeFormat()).append('\n');
+            out.append(line);
+        }
+    }
+
+    /**
+     * Parses one line of duke.txt. The description may itself contain the field separator,
+     * as the dates are taken from the end of the line.
+     * A line starts with the ID of the task only if it is not the one after the ID of the task before,
+     * so a task without one gets its ID from the TaskList, and lines written before tasks had IDs still load.
      *
      * @param line line
      * @return Task
+     * @throws TaskException if the line is not a valid task
      */
-    private Task parseTaskFromLine(String line) {
-        String[] parts = line.split(" \\| ");
-        String taskType = parts[0];
-        String description = parts[2];
-        boolean isMarked = parts[1].equals("1");
+    static Task parseTaskFromLine(String line) throws TaskException {
+        if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
+            int idEnd = line.indexOf(SEPARATOR);
+            long id = idEnd < 0 ? CommandTokenizer.NOT_INTEGER : CommandTokenizer.parseInteger(line, 0, idEnd);
+            if (id <= 0) {
+                throw new TaskException("Task ID must be a positive integer");
+            }
+            return parseTask(line.substring(idEnd + SEPARATOR.length())).withId(id);
+        }
+        return parseTask(line);
+    }
+
+    private static Task parseTask(String line) throws TaskException {
+        int typeEnd = line.indexOf(SEPARATOR);
+        int markedEnd = typeEnd < 0 ? -1 : line.indexOf(SEPARATOR, typeEnd + SEPARATOR.length());
+        if (markedEnd < 0) {
+            throw new TaskException("Expected fields separated by \"" + SEPARATOR + "\"");
+        }
+        String taskType = line.substring(0, typeEnd);
+        String marked = line.substring(typeEnd + SEPARATOR.length(), markedEnd);
+        if (!marked.equals("0") && !marked.equals("1")) {
+            throw new TaskException("Done flag must be 0 or 1 but was \"" + marked + "\"");
+        }
+        boolean isMarked = marked.equals("1");
+        String details = line.substring(markedEnd + SEPARATOR.length());
 
         switch (taskType) {
         case "T":
-            return new Todo(description, isMarked);
+            return new Todo(details, isMarked);
         case "D":
-            LocalDateTime byDate = LocalDateTime.parse(parts[3], timeFormat);
-            return new Deadline(description, byDate, isMarked);
+            int byStart = details.lastIndexOf(SEPARATOR);
+            if (byStart < 0) {
+                throw new TaskException("Deadline is missing its date");
+            }
+            LocalDateTime byDate = parseDateTime(details.substring(byStart + SEPARATOR.length()));
+            return new Deadline(details.substring(0, byStart), byDate, isMarked);
         case "E":
-            LocalDateTime from = LocalDateTime.parse(parts[3], timeFormat);
-            LocalDateTime to = LocalDateTime.parse(parts[4], timeFormat);
-            return new Event(description, from, to, isMarked);
+            int toStart = details.lastIndexOf(SEPARATOR);
+            int fromStart = toStart < 0 ? -1 : details.lastIndexOf(SEPARATOR, toStart - 1);
+            if (fromStart < 0) {
+                throw new TaskException("Event is missing its dates");
+            }
+            LocalDateTime from = parseDateTime(details.substring(fromStart + SEPARATOR.length(), toStart));
+            LocalDateTime to = parseDateTime(details.substring(toStart + SEPARATOR.length()));
+            return new Event(details.substring(0, fromStart), from, to, isMarked);
         default:
-            return null; // Unknown task type, skip
+            throw new TaskException("Unknown task type \"" + taskType + "\"");
+        }
+    }
+
+    /**
+     * Parses a date in the fixed yyyy-MM-dd HH:mm format used by duke.txt without going through
+     * a DateTimeFormatter.
+     */
+    private static LocalDateTime parseDateTime(String text) throws TaskException {
+        if (text.length() != 16 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || text.charAt(10) != ' ' || text.charAt(13) != ':') {
+            throw new TaskException("Invalid date \"" + text + "\", expected yyyy-MM-dd HH:mm");
+        }
+        try {
+            return LocalDateTime.of(digits(text, 0, 4), digits(text, 5, 7), digits(text, 8, 10),
+                    digits(text, 11, 13), digits(text, 14, 16));
+        } catch (DateTimeException e) {
+            throw new TaskException("Invalid date \"" + text + "\", expected yyyy-MM-dd HH:mm");
+        }
+    }
+
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
         }
+        return value;
     }
 }
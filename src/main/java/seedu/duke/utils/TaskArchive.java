@@ -0,0 +1,222 @@
+package seedu.duke.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+import seedu.duke.ui.Ui;
+
+/**
+ * Done tasks moved out of the TaskList, so they no longer slow down list, find, checkdate and saving.
+ * The archive is a file of segments, one per archiving, each holding the lines of the tasks it archived in
+ * the duke.txt format, every line starting with the ID of its task, compressed with a Deflater.
+ * A segment starts with the length of its compressed lines, their length uncompressed, their CRC32 and
+ * the ID the next task added to the list was to get, so a segment left half written by a crash is cut off
+ * before the next one is appended, a damaged one is skipped when reading, and the TaskList never gives an
+ * archived ID to a new task, even once the tasks after it are deleted.
+ * The archive is not read at startup, only when it is asked for; the tasks read are then kept until the
+ * next segment is appended.
+ */
+public class TaskArchive {
+    private static final int HEADER_SIZE = 20;
+    private static final String SEPARATOR = " | ";
+    // deflate never shrinks data more than this, so a larger length is a damaged header
+    private static final long MAX_DEFLATE_RATIO = 1032;
+
+    private final Path path;
+    private TaskList archived;
+
+    /**
+     * constructor for TaskArchive
+     *
+     * @param filePath file path of the archive
+     */
+    public TaskArchive(String filePath) {
+        this.path = Paths.get(filePath);
+    }
+
+    /**
+     * Appends the tasks as one segment and forces it to disk
+     *
+     * @param tasks tasks to archive
+     * @param nextId ID the next task added to the list gets, higher than the ID of any task archived
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized void append(List<Task> tasks, long nextId) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Task task : tasks) {
+            text.append(task.getId()).append(SEPARATOR).append(task.writeFormat()).append('\n');
+        }
+        byte[] lines = text.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(lines);
+        byte[] compressed = deflate(lines);
+        ByteBuffer segment = ByteBuffer.allocate(HEADER_SIZE + compressed.length);
+        segment.putInt(compressed.length).putInt(lines.length).putInt((int) crc.getValue()).putLong(nextId)
+                .put(compressed);
+        segment.flip();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long end = validEnd(out, new long[1]);
+            out.truncate(end);
+            out.position(end);
+            while (segment.hasRemaining()) {
+                out.write(segment);
+            }
+            out.force(false);
+        }
+        archived = null;
+    }
+
+    /**
+     * Returns the archived tasks as a TaskList of their own, ordered by ID, to be listed and searched
+     * like the working one. A task archived twice, which happens if Duke stopped between archiving it
+     * and saving the list without it, is only in it once.
+     *
+     * @return the archived tasks
+     * @throws IOException if the archive cannot be read
+     */
+    public synchronized TaskList load() throws IOException {
+        if (archived == null) {
+            archived = new TaskList(new ArrayList<>(readTasks()), new Ui());
+        }
+        return archived;
+    }
+
+    /**
+     * Returns the lowest ID a new task can get without taking the ID of an archived task, reading only the
+     * headers of the segments
+     *
+     * @return the next free ID, or 1 if nothing is archived
+     * @throws IOException if the archive cannot be read
+     */
+    public synchronized long nextId() throws IOException {
+        if (!Files.exists(path)) {
+            return 1;
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] nextId = {1};
+            validEnd(in, nextId);
+            return nextId[0];
+        }
+    }
+
+    private List<Task> readTasks() throws IOException {
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        TreeMap<Long, Task> tasks = new TreeMap<>();
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (file.remaining() >= HEADER_SIZE) {
+            int compressedLength = file.getInt();
+            int length = file.getInt();
+            int checksum = file.getInt();
+            file.getLong();
+            if (compressedLength < 0 || length < 0 || compressedLength > file.remaining()) {
+                break;
+            }
+            byte[] compressed = new byte[compressedLength];
+            file.get(compressed);
+            byte[] lines = inflate(compressed, length);
+            CRC32 crc = new CRC32();
+            crc.update(lines == null ? new byte[0] : lines);
+            if (lines == null || (int) crc.getValue() != checksum) {
+                System.out.println("Skipped a damaged segment of the archive");
+                continue;
+            }
+            for (String line : new String(lines, StandardCharsets.UTF_8).split("\n")) {
+                try {
+                    Task task = Storage.parseTaskFromLine(line);
+                    tasks.put(task.getId(), task);
+                } catch (TaskException e) {
+                    System.out.println("Skipped invalid archived task \"" + line + "\": " + e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Returns where the last whole segment ends, raising nextId[0] to the highest next ID of the segments
+     */
+    private static long validEnd(FileChannel channel, long[] nextId) throws IOException {
+        long size = channel.size();
+        long end = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (end + HEADER_SIZE <= size) {
+            header.clear();
+            channel.read(header, end);
+            if (header.hasRemaining()) {
+                break;
+            }
+            int compressedLength = header.getInt(0);
+            if (compressedLength < 0 || end + HEADER_SIZE + compressedLength > size) {
+                break;
+            }
+            nextId[0] = Math.max(nextId[0], header.getLong(12));
+            end += HEADER_SIZE + compressedLength;
+        }
+        return end;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the inflated bytes, or null if they are not the given length or not valid deflate data
+     */
+    private static byte[] inflate(byte[] compressed, int length) {
+        if (length > compressed.length * MAX_DEFLATE_RATIO + 1024) {
+            return null;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] bytes = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(bytes, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                inflated += count;
+            }
+            return inflated == length && inflater.finished() ? bytes : null;
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+}
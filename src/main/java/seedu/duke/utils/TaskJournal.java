@@ -0,0 +1,384 @@
+package seedu.duke.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+
+/**
+ * Append-only journal of TaskList mutations.
+ * Every add, delete, mark and unmark is appended as one record, e.g.
+ *      ADD | 17 | T | 0 | read book
+ *      DELETE | 3
+ *      MARK | 2
+ *      UNMARK | 2
+ * A change to several tasks at once is one record listing their indexes, with runs written as ranges, e.g.
+ *      DELETE | 5-500,731
+ * Once the journal holds enough records it is frozen into a segment and folded into a new snapshot
+ * on a background thread, while new records go to a fresh journal. The folded snapshot is written next to
+ * the old one, then the segment is deleted, then the folded snapshot replaces the old one, so a fold cut
+ * short by a crash is either redone from the segment or finished on the next start, never applied twice.
+ * The journal is only frozen again once the last segment has been folded.
+ * Records may be appended and flushed from different threads. Flushed records are forced to disk as
+ * the FsyncPolicy says.
+ */
+public class TaskJournal implements TaskListListener {
+    private static final String ADD = "ADD";
+    private static final String DELETE = "DELETE";
+    private static final String MARK = "MARK";
+    private static final String UNMARK = "UNMARK";
+
+    private final Storage storage;
+    private final Path journalPath;
+    private final Path frozenPath;
+    private final int compactThreshold;
+    private final FsyncPolicy fsyncPolicy;
+    private final FsyncPolicy.FileSync sync;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private int recordCount;
+    private long bytesWritten;
+    private Future<?> pendingCompaction;
+
+    /**
+     * constructor for TaskJournal
+     *
+     * @param storage storage owning the snapshot this journal belongs to
+     * @param journalPath file path of the journal
+     * @param compactThreshold number of records after which the journal is folded into the snapshot
+     * @param fsyncPolicy when flushed records are forced to disk
+     */
+    public TaskJournal(Storage storage, String journalPath, int compactThreshold, FsyncPolicy fsyncPolicy) {
+        this.storage = storage;
+        this.journalPath = Paths.get(journalPath);
+        this.frozenPath = Paths.get(journalPath + ".1");
+        this.compactThreshold = compactThreshold;
+        this.fsyncPolicy = fsyncPolicy;
+        this.sync = fsyncPolicy.forFile();
+    }
+
+    /**
+     * Finishes or drops a fold cut short by a crash, before the snapshot is read: a folded snapshot is
+     * only complete once its segment is gone.
+     *
+     * @throws IOException if the folded snapshot cannot be moved or deleted
+     */
+    void recover() throws IOException {
+        if (!storage.hasFoldedSnapshot()) {
+            return;
+        }
+        if (Files.exists(frozenPath)) {
+            storage.discardFoldedSnapshot();
+        } else {
+            storage.commitFoldedSnapshot();
+        }
+    }
+
+    /**
+     * Replays a frozen segment left by an interrupted compaction and the live journal onto the snapshot.
+     *
+     * @param tasks tasks read from the snapshot, modified in place
+     * @throws IOException if the journal cannot be read
+     */
+    public void replay(List<Task> tasks) throws IOException {
+        if (Files.exists(frozenPath)) {
+            replay(frozenPath, tasks);
+            pendingCompaction = compactor.submit(this::compact);
+        }
+        recordCount = replay(journalPath, tasks);
+    }
+
+    /**
+     * Returns true if there is a journal or a frozen segment to replay
+     */
+    boolean hasRecords() {
+        return Files.exists(journalPath) || Files.exists(frozenPath) || storage.hasFoldedSnapshot();
+    }
+
+    /**
+     * Flushes all buffered records to disk, and starts a background compaction if the journal is full
+     */
+    public synchronized void flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+                if (sync.isDue()) {
+                    channel.force(false);
+                } else {
+                    sync.later(this::forceChannel);
+                }
+            }
+            if (recordCount >= compactThreshold && isIdle()) {
+                rollOverOrRetry();
+            }
+        } catch (IOException e) {
+            System.out.println("Error while saving journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and closes the journal, waiting for any running compaction to finish
+     */
+    public synchronized void close() {
+        try {
+            closeWriter();
+            if (pendingCompaction != null) {
+                pendingCompaction.get();
+            }
+        } catch (Exception e) {
+            System.out.println("Error while closing journal: " + e.getMessage());
+        }
+        compactor.shutdown();
+    }
+
+    private synchronized void forceChannel() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Closes the journal file, forcing it first unless the policy never forces, as a write the timer
+     * would have forced later may still be in the page cache
+     */
+    private void closeWriter() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.flush();
+        if (!fsyncPolicy.isNever()) {
+            channel.force(false);
+        }
+        writer.close();
+        writer = null;
+        channel = null;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        append(ADD + " | " + task.getId() + " | " + task.writeFormat());
+    }
+
+    @Override
+    public void taskDeleted(int index) {
+        append(DELETE + " | " + index);
+    }
+
+    @Override
+    public void taskMarked(int index, boolean isMarked) {
+        append((isMarked ? MARK : UNMARK) + " | " + index);
+    }
+
+    @Override
+    public void tasksDeleted(int[] indexes) {
+        append(DELETE + " | " + ranges(indexes));
+    }
+
+    @Override
+    public void tasksMarked(int[] indexes, boolean isMarked) {
+        append((isMarked ? MARK : UNMARK) + " | " + ranges(indexes));
+    }
+
+    /**
+     * Writes increasing indexes as a comma separated list, with runs of consecutive indexes as ranges
+     */
+    private static String ranges(int[] indexes) {
+        StringBuilder ranges = new StringBuilder();
+        for (int i = 0; i < indexes.length; i++) {
+            int start = indexes[i];
+            while (i + 1 < indexes.length && indexes[i + 1] == indexes[i] + 1) {
+                i++;
+            }
+            if (ranges.length() > 0) {
+                ranges.append(',');
+            }
+            ranges.append(start);
+            if (indexes[i] != start) {
+                ranges.append('-').append(indexes[i]);
+            }
+        }
+        return ranges.toString();
+    }
+
+    private synchronized void append(String record) {
+        try {
+            if (writer == null) {
+                channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+                writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            }
+            writer.write(record);
+            writer.newLine();
+            recordCount++;
+            bytesWritten += utf8Length(record) + System.lineSeparator().length();
+        } catch (IOException e) {
+            System.out.println("Error while writing to journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of bytes of records written so far, flushed or not
+     */
+    synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private static int utf8Length(String text) {
+        int length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                length += 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private boolean isIdle() {
+        return pendingCompaction == null || pendingCompaction.isDone();
+    }
+
+    /**
+     * Freezes the current journal so that new records go to a fresh file, then folds
+     * the frozen segment into the snapshot in the background. If the last segment could not be folded
+     * it is still there, and folding it is retried instead, as freezing the journal over it would lose it.
+     */
+    private void rollOverOrRetry() throws IOException {
+        if (!Files.exists(frozenPath)) {
+            closeWriter();
+            Files.move(journalPath, frozenPath);
+            recordCount = 0;
+        }
+        pendingCompaction = compactor.submit(this::compact);
+    }
+
+    private void compact() {
+        try {
+            List<Task> tasks = storage.readSnapshot();
+            replay(frozenPath, tasks);
+            storage.writeFoldedSnapshot(tasks);
+            Files.delete(frozenPath);
+            storage.commitFoldedSnapshot();
+        } catch (IOException e) {
+            System.out.println("Error while compacting journal: " + e.getMessage());
+        }
+    }
+
+    private static int replay(Path path, List<Task> tasks) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        assignIds(tasks);
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                count++;
+                try {
+                    apply(line, tasks);
+                } catch (RuntimeException | TaskException e) {
+                    System.out.println("Skipping corrupted journal record " + count + ": " + line);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gives the tasks the IDs the TaskList would give them before any record is applied, as deleting a
+     * task would change the IDs the TaskList gives the tasks after it
+     */
+    private static void assignIds(List<Task> tasks) {
+        long id = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            id = TaskList.idAfter(id, task);
+            if (task.getId() != id) {
+                tasks.set(i, task.withId(id));
+            }
+        }
+    }
+
+    private static void apply(String record, List<Task> tasks) throws TaskException {
+        String[] parts = record.split(" \\| ", 2);
+        switch (parts[0]) {
+        case ADD:
+            tasks.add(Storage.parseTaskFromLine(parts[1]));
+            break;
+        case DELETE:
+            deleteAll(tasks, indexes(parts[1], tasks.size()));
+            break;
+        case MARK:
+        case UNMARK:
+            for (int index : indexes(parts[1], tasks.size())) {
+                Task toMark = tasks.get(index - 1);
+                if (toMark.isMarked() != parts[0].equals(MARK)) {
+                    toMark.mark();
+                }
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal record: " + parts[0]);
+        }
+    }
+
+    /**
+     * Reads the indexes of a record, either one index or the list written by ranges
+     *
+     * @throws IndexOutOfBoundsException if an index is not in the list, before anything is changed
+     */
+    private static int[] indexes(String text, int size) {
+        List<Integer> indexes = new ArrayList<>();
+        for (String item : text.split(",")) {
+            int dash = item.indexOf('-', 1);
+            int start = Integer.parseInt(dash < 0 ? item : item.substring(0, dash));
+            int end = dash < 0 ? start : Integer.parseInt(item.substring(dash + 1));
+            if (start < 1 || end > size) {
+                throw new IndexOutOfBoundsException("Index " + text + " out of bounds for length " + size);
+            }
+            for (int index = start; index <= end; index++) {
+                indexes.add(index);
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Removes the tasks at the increasing indexes, moving the others once
+     */
+    private static void deleteAll(List<Task> tasks, int[] indexes) {
+        int next = 0;
+        int to = 0;
+        for (int from = 0; from < tasks.size(); from++) {
+            if (next < indexes.length && from == indexes[next] - 1) {
+                next++;
+                continue;
+            }
+            tasks.set(to, tasks.get(from));
+            to++;
+        }
+        tasks.subList(to, tasks.size()).clear();
+    }
+}
@@ -1,21 +1,66 @@
 package seedu.duke.utils;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongPredicate;
 
 import seedu.duke.exceptions.TaskException;
-import seedu.duke.tasks.Deadline;
-import seedu.duke.tasks.Event;
 import seedu.duke.tasks.Task;
 import seedu.duke.ui.Ui;
 
 /**
- * TaskList class
+ * TaskList class.
+ * The tasks and their indexes are kept in an immutable Snapshot. Every change builds a new snapshot,
+ * mostly sharing the old one, and publishes it; changes are made one at a time under the lock on the
+ * TaskList. Queries read whichever snapshot is current when they start and never take the lock,
+ * so they neither block nor are blocked by changes. An index built on first use, or again once it is
+ * stale, is built without the lock as well, and published only if the tasks did not change meanwhile.
+ * The tasks are stored as Task objects, or with Store.COLUMNAR in arrays of their fields, which takes
+ * about half the memory per task and leaves the garbage collector only a few large arrays to trace.
+ * A columnar TaskList builds its keyword index on the first find rather than up front, as the index
+ * takes more memory than the tasks themselves.
+ * Every task added gets the next ID, which is also its sequence number in the indexes, so a task is found
+ * by its ID with a binary search. Deleting a task leaves a tombstone instead of moving the tasks after it.
+ * Once there is a tombstone for every four tasks left, a background thread copies the tasks to a new
+ * vector and swaps it in, unless the list changed meanwhile; if there is one for every task before that
+ * happens, the next deletion compacts the list itself.
+ * A TaskList can start with only the first tasks of a file while the rest are still loading. Commands
+ * that only touch the tasks already there run straight away; the others, such as find or adding a task,
+ * wait until the rest have been appended.
  */
 public class TaskList {
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Ui ui;
-    private List<Task> taskList;
+    private final List<TaskListListener> listeners = new CopyOnWriteArrayList<>();
+    private final Store store;
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    private volatile Snapshot snapshot;
+    private volatile TrigramIndex trigramIndex;
+    private boolean isCompactionScheduled;
+    private boolean isKeywordRebuildScheduled;
+    private boolean isLoadFailed;
+
+    /**
+     * How the tasks are stored
+     */
+    public enum Store {
+        OBJECTS,
+        COLUMNAR
+    }
 
     /**
      * TaskList constructor
@@ -23,8 +68,249 @@ public class TaskList {
      * @param ui Ui instance it uses to display messages to user
      */
     public TaskList(List<Task> taskList, Ui ui) {
-        this.taskList = taskList;
+        this(taskList, ui, Store.OBJECTS);
+    }
+
+    /**
+     * TaskList constructor
+     *
+     * @param taskList tasks to start with, copied into the store. Tasks keep their IDs if they increase
+     *     along the list, others get the ID after the one before them.
+     * @param ui Ui instance it uses to display messages to user
+     * @param store how the tasks are stored
+     */
+    public TaskList(List<Task> taskList, Ui ui, Store store) {
+        this(TaskLoad.of(taskList), ui, store);
+    }
+
+    /**
+     * TaskList constructor for tasks that are still loading. The first tasks are there straight away,
+     * the rest are appended once they are loaded.
+     *
+     * @param load tasks to start with, and the ones after them that are still loading
+     * @param ui Ui instance it uses to display messages to user
+     * @param store how the tasks are stored
+     */
+    public TaskList(TaskLoad load, Ui ui, Store store) {
         this.ui = ui;
+        this.store = store;
+        TaskVector tasks = store == Store.COLUMNAR ? TaskVector.emptyColumnar() : TaskVector.empty();
+        long id = 0;
+        for (Task task : load.getFirst()) {
+            id = idAfter(id, task);
+            tasks = tasks.append(task.getId() == id ? task : task.withId(id));
+        }
+        CompletableFuture<List<Task>> rest = load.getRest();
+        boolean isComplete = rest.isDone() && !rest.isCompletedExceptionally() && rest.join().isEmpty();
+        KeywordIndex keywordIndex = store == Store.COLUMNAR || !isComplete ? null : KeywordIndex.of(tasks);
+        this.snapshot = new Snapshot(tasks, keywordIndex, null, id + 1, 0, isComplete);
+        if (isComplete) {
+            loaded.complete(null);
+        } else {
+            rest.whenComplete(this::appendLoaded);
+        }
+    }
+
+    /**
+     * Returns the ID a task gets in a list after a task with the given ID: its own if it is higher,
+     * otherwise the next one. Storage writes only the IDs this does not give back.
+     *
+     * @param previousId ID of the task before, or 0 for the first task
+     * @param task task to get the ID of
+     * @return ID of the task in the list
+     */
+    static long idAfter(long previousId, Task task) {
+        return task.getId() > previousId ? task.getId() : previousId + 1;
+    }
+
+    /**
+     * Immutable state of the TaskList at one version
+     */
+    public static class Snapshot {
+        private final TaskVector tasks;
+        private final KeywordIndex keywordIndex;
+        private final DateIndex dateIndex;
+        private final long nextSequence;
+        private final long version;
+        private final boolean isComplete;
+
+        private Snapshot(TaskVector tasks, KeywordIndex keywordIndex, DateIndex dateIndex, long nextSequence,
+                long version, boolean isComplete) {
+            this.tasks = tasks;
+            this.keywordIndex = keywordIndex;
+            this.dateIndex = dateIndex;
+            this.nextSequence = nextSequence;
+            this.version = version;
+            this.isComplete = isComplete;
+        }
+
+        public List<Task> getTasks() {
+            return tasks.asList();
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns true if every task was loaded when this snapshot was taken
+         */
+        public boolean isComplete() {
+            return isComplete;
+        }
+    }
+
+    /**
+     * Appends the tasks that were still loading to the newest vector under the lock, as only the newest one
+     * may be updated, then builds the keyword index outside the lock and publishes it if no change was made
+     * meanwhile, as compactInBackground does. Loading them is not a change, so the version stays the same.
+     * If they could not be loaded the TaskList keeps only its first tasks, and as it is never complete,
+     * the Storage never writes it over the file.
+     */
+    private void appendLoaded(List<Task> rest, Throwable error) {
+        if (error != null) {
+            System.out.println("Error while loading tasks, only the first ones were loaded: " + error.getMessage());
+            synchronized (this) {
+                isLoadFailed = true;
+                notifyAll();
+            }
+            return;
+        }
+        TaskVector tasks;
+        synchronized (this) {
+            snapshot = withLoaded(snapshot, rest);
+            tasks = snapshot.tasks;
+            notifyAll();
+        }
+        loaded.complete(null);
+        if (store != Store.COLUMNAR) {
+            KeywordIndex keywordIndex = KeywordIndex.of(tasks);
+            synchronized (this) {
+                Snapshot current = snapshot;
+                if (current.tasks == tasks && current.keywordIndex == null) {
+                    snapshot = new Snapshot(tasks, keywordIndex, current.dateIndex, current.nextSequence,
+                            current.version, current.isComplete);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot with the rest of the tasks appended, without a keyword index, as find builds
+     * one if it is asked for before appendLoaded has
+     */
+    private Snapshot withLoaded(Snapshot current, List<Task> rest) {
+        TaskVector tasks = current.tasks;
+        // no task is added before the rest are loaded, so the next sequence follows the last task loaded,
+        // unless reserveIds asked for a higher one
+        long id = tasks.size() == 0 ? 0 : tasks.sequence(tasks.size() - 1);
+        for (Task task : rest) {
+            id = idAfter(id, task);
+            tasks = tasks.append(task.getId() == id ? task : task.withId(id));
+        }
+        return new Snapshot(tasks, null, null, Math.max(id + 1, current.nextSequence), current.version, true);
+    }
+
+    /**
+     * Makes sure no task added from now on gets an ID below the given one, as tasks that have left the list,
+     * such as archived ones, may still have them. Not a change, so the version stays the same.
+     *
+     * @param nextId lowest ID the next task added may get
+     */
+    public synchronized void reserveIds(long nextId) {
+        Snapshot current = snapshot;
+        if (nextId > current.nextSequence) {
+            snapshot = new Snapshot(current.tasks, current.keywordIndex, current.dateIndex, nextId, current.version,
+                    current.isComplete);
+        }
+    }
+
+    /**
+     * Returns true if every task has been loaded
+     */
+    public boolean isLoaded() {
+        return snapshot.isComplete;
+    }
+
+    /**
+     * Waits until every task has been loaded. Called while holding the lock, it lets the lock go while
+     * waiting, so it has to come before the state of the TaskList is read.
+     *
+     * @return true if every task was loaded, false if the rest could not be loaded
+     */
+    public boolean waitUntilLoaded() {
+        if (snapshot.isComplete) {
+            return true;
+        }
+        synchronized (this) {
+            boolean isInterrupted = false;
+            while (!snapshot.isComplete && !isLoadFailed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return snapshot.isComplete;
+        }
+    }
+
+    /**
+     * Runs the action once every task has been loaded, straight away if they already are, and never if
+     * they could not be loaded
+     *
+     * @param action action to run
+     */
+    public void whenLoaded(Runnable action) {
+        loaded.thenRun(action);
+    }
+
+    /**
+     * Returns the current snapshot once it holds at least the given number of tasks, or all of them if
+     * there are fewer, so that the first page of a list can be shown while the rest are still loading
+     *
+     * @param count number of tasks needed
+     * @return a snapshot with at least count tasks, or a complete one
+     */
+    public Snapshot snapshotWith(int count) {
+        Snapshot current = snapshot;
+        if (current.isComplete || current.tasks.size() >= count) {
+            return current;
+        }
+        waitUntilLoaded();
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener to be notified of every mutation to this TaskList.
+     * Listeners are called while the lock on the TaskList is held, in the order of the changes.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the current state of the TaskList. The snapshot never changes, even as the TaskList does.
+     *
+     * @return current snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the mutation version of this TaskList, which increases every time a task is
+     * added, deleted, marked or unmarked
+     *
+     * @return current version
+     */
+    public long getVersion() {
+        return snapshot.version;
     }
 
     public String exit() {
@@ -32,31 +318,45 @@ public class TaskList {
     }
 
     /**
-     * Adds task to the TaskList
+     * Adds task to the TaskList, with the next ID
      *
-     * @param task Task to add
+     * @param newTask Task to add
      */
-    public String addTask(Task task) {
-        int before = taskList.size();
-        taskList.add(task);
-        assert taskList.size() > before : "size did not increase";
-        return ui.printAddingTask(task, taskList);
+    public synchronized String addTask(Task newTask) {
+        waitUntilLoaded();
+        Snapshot current = snapshot;
+        long sequence = current.nextSequence;
+        Task task = newTask.withId(sequence);
+        TaskVector tasks = current.tasks.append(task);
+        if (current.keywordIndex != null) {
+            current.keywordIndex.add(task, sequence);
+        }
+        DateIndex dateIndex = current.dateIndex == null ? null : current.dateIndex.add(tasks, tasks.size() - 1);
+        assert tasks.size() > current.tasks.size() : "size did not increase";
+        snapshot = new Snapshot(tasks, current.keywordIndex, dateIndex, sequence + 1, current.version + 1,
+                current.isComplete);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+        return ui.printAddingTask(task, tasks.asList());
     }
 
     /**
      * uses Ui to print to user all avail tasks
      */
     public String listAllTasks() {
-        return ui.printAllTasks(taskList);
+        return ui.printAllTasks(returnTaskList());
     }
 
     /**
-     * returns the current TaskList
+     * returns the tasks in the current snapshot, once every task is loaded. The list cannot be modified
+     * and does not change.
      *
      * @return TaskList
      */
     public List<Task> returnTaskList() {
-        return taskList;
+        waitUntilLoaded();
+        return snapshot.tasks.asList();
     }
 
     /**
@@ -65,14 +365,22 @@ public class TaskList {
      * @param i index of Task to be removed
      * @throws TaskException if any error
      */
-    public String deleteTask(int i) throws TaskException {
-        if (i > taskList.size()) {
-            throw new TaskException("Invalid task index. Valid indexes from 1 to " + taskList.size());
+    public synchronized String deleteTask(int i) throws TaskException {
+        waitUntilLoaded(i);
+        Snapshot current = snapshot;
+        checkIndex(i, current);
+        Task taskToDelete = current.tasks.get(i - 1);
+        TaskVector tasks = compactIfNeeded(current.tasks.remove(i - 1));
+        if (current.keywordIndex != null && current.keywordIndex.remove()) {
+            scheduleKeywordRebuild();
+        }
+        DateIndex dateIndex = current.dateIndex == null ? null : current.dateIndex.remove(current.tasks, i - 1);
+        assert tasks.size() < current.tasks.size() : "size did not decrease, did not delete";
+        snapshot = new Snapshot(tasks, current.keywordIndex, dateIndex, current.nextSequence, current.version + 1,
+                current.isComplete);
+        for (TaskListListener listener : listeners) {
+            listener.taskDeleted(i);
         }
-        Task taskToDelete = taskList.get(i - 1);
-        int before = taskList.size();
-        taskList.remove(i - 1);
-        assert taskList.size() < before : "size did not decrease, did not delete";
         return ui.printDeleteTask(taskToDelete);
     }
 
@@ -82,14 +390,13 @@ public class TaskList {
      * @param i task to mark
      * @throws TaskException error thrown
      */
-    public String mark(int i) throws TaskException {
-        if (i > taskList.size() || i <= 0) {
-            throw new TaskException("Invalid task index. Valid indexes from 1 to " + taskList.size());
-        }
-        Task taskToMark = taskList.get(i - 1);
+    public synchronized String mark(int i) throws TaskException {
+        waitUntilLoaded(i);
+        checkIndex(i, snapshot);
+        Task taskToMark = snapshot.tasks.get(i - 1);
         boolean beforeMarking = taskToMark.isMarked();
-        if (!taskToMark.isMarked()) {
-            taskToMark.mark();
+        if (!beforeMarking) {
+            taskToMark = setMarked(i, true);
         }
         return ui.printMarkTask(taskToMark, beforeMarking);
     }
@@ -100,55 +407,521 @@ public class TaskList {
      * @param i task to unmark
      * @throws TaskException error thrown
      */
-    public String unMark(int i) throws TaskException {
-        if (i > taskList.size() || i <= 0) {
-            throw new TaskException("Invalid task index. Valid indexes from 1 to " + taskList.size());
-        }
-        Task taskToMark = taskList.get(i - 1);
+    public synchronized String unMark(int i) throws TaskException {
+        waitUntilLoaded(i);
+        checkIndex(i, snapshot);
+        Task taskToMark = snapshot.tasks.get(i - 1);
         boolean beforeMarking = taskToMark.isMarked();
-        if (taskToMark.isMarked()) {
-            taskToMark.mark();
+        if (beforeMarking) {
+            taskToMark = setMarked(i, false);
         }
         return ui.printUnMarkTask(taskToMark, beforeMarking);
     }
 
     /**
-     * returns all Tasks on specified date
+     * Replaces the task at the index with a copy in the given marked state. Tasks in a snapshot are
+     * never changed, so readers of older snapshots still see the old state.
+     */
+    private Task setMarked(int i, boolean isMarked) {
+        Snapshot current = snapshot;
+        Task oldTask = current.tasks.get(i - 1);
+        Task newTask = oldTask.withMarked(isMarked);
+        TaskVector tasks = current.tasks.set(i - 1, newTask);
+        DateIndex dateIndex = current.dateIndex == null ? null : current.dateIndex.setMarked(tasks, i - 1);
+        snapshot = new Snapshot(tasks, current.keywordIndex, dateIndex, current.nextSequence, current.version + 1,
+                current.isComplete);
+        for (TaskListListener listener : listeners) {
+            listener.taskMarked(i, isMarked);
+        }
+        return newTask;
+    }
+
+    /**
+     * Deletes the selected tasks, leaving a tombstone for each.
+     * If only one task is selected, e.g. by its ID, the reply shows it as deleteTask does.
+     *
+     * @param selection tasks to delete
+     * @throws TaskException if a selected index is out of range, in which case nothing is deleted
+     */
+    public synchronized String deleteTasks(TaskSelection selection) throws TaskException {
+        waitUntilLoaded(selection);
+        Snapshot current = snapshot;
+        int[] positions = selection.positions(current.tasks);
+        if (positions.length == 0) {
+            return ui.printDeleteTasks(0, current.tasks.size());
+        }
+        TaskVector tasks = removeAll(current, positions);
+        return positions.length == 1 ? ui.printDeleteTask(current.tasks.get(positions[0]))
+                : ui.printDeleteTasks(positions.length, tasks.size());
+    }
+
+    /**
+     * Moves the marked tasks picked by their IDs into the archive, as one change. The archive keeps the next
+     * ID, so no new task gets the ID of an archived one after a restart. The tasks are appended to the archive
+     * before they are deleted, so a crash in between leaves them in both, and the archive reads the copies
+     * as one.
+     *
+     * @param archive archive to move the tasks into
+     * @param isArchived picks the marked tasks to archive by their IDs
+     * @return number of tasks archived
+     * @throws IOException if the archive cannot be written, in which case nothing is deleted
+     */
+    public synchronized int archiveTasks(TaskArchive archive, LongPredicate isArchived) throws IOException {
+        if (!waitUntilLoaded()) {
+            return 0;
+        }
+        Snapshot current = snapshot;
+        int[] positions = new int[current.tasks.size()];
+        int count = 0;
+        for (int i = 0; i < current.tasks.size(); i++) {
+            if (current.tasks.isMarked(i) && isArchived.test(current.tasks.sequence(i))) {
+                positions[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        positions = Arrays.copyOf(positions, count);
+        List<Task> archived = new ArrayList<>(count);
+        for (int position : positions) {
+            archived.add(current.tasks.get(position));
+        }
+        archive.append(archived, current.nextSequence);
+        removeAll(current, positions);
+        return count;
+    }
+
+    /**
+     * Removes the tasks at the given positions, in order and without repeats, as one change
+     *
+     * @return the tasks left
+     */
+    private TaskVector removeAll(Snapshot current, int[] positions) {
+        TaskVector tasks = compactIfNeeded(current.tasks.removeAll(positions));
+        if (current.keywordIndex != null) {
+            boolean isStale = false;
+            for (int i = 0; i < positions.length; i++) {
+                isStale = current.keywordIndex.remove() || isStale;
+            }
+            if (isStale) {
+                scheduleKeywordRebuild();
+            }
+        }
+        DateIndex dateIndex = current.dateIndex;
+        if (dateIndex != null && isRebuildCheaper(positions.length, current.tasks.size())) {
+            dateIndex = null;
+        } else if (dateIndex != null) {
+            for (int position : positions) {
+                dateIndex = dateIndex.remove(current.tasks, position);
+            }
+        }
+        snapshot = new Snapshot(tasks, current.keywordIndex, dateIndex, current.nextSequence, current.version + 1,
+                current.isComplete);
+        int[] indexes = toIndexes(positions);
+        for (TaskListListener listener : listeners) {
+            listener.tasksDeleted(indexes);
+        }
+        return tasks;
+    }
+
+    /**
+     * marks the selected tasks
+     *
+     * @param selection tasks to mark
+     * @throws TaskException if a selected index is out of range, in which case nothing is marked
+     */
+    public synchronized String markTasks(TaskSelection selection) throws TaskException {
+        return setAllMarked(selection, true);
+    }
+
+    /**
+     * unMarks the selected tasks
+     *
+     * @param selection tasks to unmark
+     * @throws TaskException if a selected index is out of range, in which case nothing is unmarked
+     */
+    public synchronized String unMarkTasks(TaskSelection selection) throws TaskException {
+        return setAllMarked(selection, false);
+    }
+
+    /**
+     * Changes the marked state of the selected tasks that are not in it yet, as one change.
+     * If only one task is selected the reply shows it as mark and unMark do.
+     */
+    private String setAllMarked(TaskSelection selection, boolean isMarked) throws TaskException {
+        waitUntilLoaded(selection);
+        Snapshot current = snapshot;
+        int[] positions = selection.positions(current.tasks);
+        int changeCount = 0;
+        for (int position : positions) {
+            if (current.tasks.isMarked(position) != isMarked) {
+                positions[changeCount++] = position;
+            }
+        }
+        int[] changed = Arrays.copyOf(positions, changeCount);
+        Task single = positions.length == 1 ? current.tasks.get(positions[0]) : null;
+        if (changed.length > 0) {
+            TaskVector tasks = current.tasks.setMarked(changed, isMarked);
+            DateIndex dateIndex = current.dateIndex;
+            if (dateIndex != null && isRebuildCheaper(changed.length, tasks.size())) {
+                dateIndex = null;
+            } else if (dateIndex != null) {
+                for (int position : changed) {
+                    dateIndex = dateIndex.setMarked(tasks, position);
+                }
+            }
+            snapshot = new Snapshot(tasks, current.keywordIndex, dateIndex, current.nextSequence,
+                    current.version + 1, current.isComplete);
+            int[] indexes = toIndexes(changed);
+            for (TaskListListener listener : listeners) {
+                listener.tasksMarked(indexes, isMarked);
+            }
+            single = positions.length == 1 ? tasks.get(positions[0]) : null;
+        }
+        if (single != null) {
+            return isMarked ? ui.printMarkTask(single, changed.length == 0)
+                    : ui.printUnMarkTask(single, changed.length == 1);
+        }
+        int unchangedCount = positions.length - changed.length;
+        return isMarked ? ui.printMarkTasks(changed.length, unchangedCount)
+                : ui.printUnMarkTasks(changed.length, unchangedCount);
+    }
+
+    /**
+     * Returns true if so many tasks changed that the date index is better built again, on the next date
+     * query, than updated one task at a time
+     */
+    private static boolean isRebuildCheaper(int changeCount, int size) {
+        return changeCount > size / 16;
+    }
+
+    /**
+     * Compacts the tasks if there are more tombstones than tasks
+     */
+    private TaskVector compactIfNeeded(TaskVector tasks) {
+        int deadCount = tasks.deadCount();
+        if (deadCount >= MIN_DEAD_TO_COMPACT && deadCount > tasks.size()) {
+            return tasks.compact();
+        }
+        scheduleCompactionIfNeeded(tasks);
+        return tasks;
+    }
+
+    /**
+     * Has the tasks compacted in the background if there is a tombstone for every four tasks
+     */
+    private void scheduleCompactionIfNeeded(TaskVector tasks) {
+        int deadCount = tasks.deadCount();
+        if (deadCount >= MIN_DEAD_TO_COMPACT && deadCount > tasks.size() / 4 && !isCompactionScheduled) {
+            isCompactionScheduled = true;
+            COMPACTOR.execute(this::compactInBackground);
+        }
+    }
+
+    /**
+     * Compacts the tasks of the current snapshot without holding the lock, and publishes them with the
+     * indexes of the snapshot if no change was made meanwhile. Tasks keep their positions and sequence
+     * numbers, so the indexes stay valid and the version does not change.
+     */
+    private void compactInBackground() {
+        TaskVector tasks = snapshot.tasks;
+        TaskVector compacted = tasks.compact();
+        synchronized (this) {
+            isCompactionScheduled = false;
+            Snapshot current = snapshot;
+            if (current.tasks == tasks) {
+                snapshot = new Snapshot(compacted, current.keywordIndex, current.dateIndex, current.nextSequence,
+                        current.version, current.isComplete);
+            } else {
+                scheduleCompactionIfNeeded(current.tasks);
+            }
+        }
+    }
+
+    /**
+     * Has the keyword index built again in the background once so many tasks were removed that most of
+     * its postings are of deleted tasks. The stale index is still searched until then, as a search skips
+     * the sequence numbers of deleted tasks.
+     */
+    private void scheduleKeywordRebuild() {
+        if (!isKeywordRebuildScheduled) {
+            isKeywordRebuildScheduled = true;
+            COMPACTOR.execute(this::rebuildKeywordIndexInBackground);
+        }
+    }
+
+    /**
+     * Builds the keyword index over the tasks of the current snapshot without holding the lock, and
+     * publishes it if no change was made meanwhile, otherwise tries again while the index is still stale
+     */
+    private void rebuildKeywordIndexInBackground() {
+        TaskVector tasks = snapshot.tasks;
+        KeywordIndex keywordIndex = KeywordIndex.of(tasks);
+        synchronized (this) {
+            isKeywordRebuildScheduled = false;
+            Snapshot current = snapshot;
+            if (current.keywordIndex == null || !current.keywordIndex.isStale()) {
+                return;
+            }
+            if (current.tasks == tasks) {
+                snapshot = new Snapshot(tasks, keywordIndex, current.dateIndex, current.nextSequence,
+                        current.version, current.isComplete);
+            } else {
+                scheduleKeywordRebuild();
+            }
+        }
+    }
+
+    /**
+     * Waits for the rest of the tasks unless the index is of a task already loaded
+     */
+    private void waitUntilLoaded(int i) {
+        if (i > snapshot.tasks.size()) {
+            waitUntilLoaded();
+        }
+    }
+
+    /**
+     * Waits for the rest of the tasks unless the selection only has task numbers of tasks already loaded
+     */
+    private void waitUntilLoaded(TaskSelection selection) {
+        if (!selection.isWithin(snapshot.tasks.size())) {
+            waitUntilLoaded();
+        }
+    }
+
+    private static int[] toIndexes(int[] positions) {
+        int[] indexes = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            indexes[i] = positions[i] + 1;
+        }
+        return indexes;
+    }
+
+    private static void checkIndex(int i, Snapshot current) throws TaskException {
+        if (i > current.tasks.size() || i <= 0) {
+            throw new TaskException("Invalid task index. Valid indexes from 1 to " + current.tasks.size());
+        }
+    }
+
+    /**
+     * returns all deadlines due on the specified date and all events taking place on it
      *
      * @param date date to check
      */
     public String getTasksOnDate(LocalDate date) {
-        List<Task> tasksOnDate = new ArrayList<>();
-        for (Task task : taskList) {
-            if (task instanceof Deadline) {
-                Deadline deadline = (Deadline) task;
-                if (deadline.getByDate().isEqual(date)) {
-                    tasksOnDate.add(task);
+        waitUntilLoaded();
+        Snapshot current = withDateIndex();
+        List<Task> tasksOnDate = current.dateIndex.between(date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                current.tasks);
+        return ui.printTasksOnDateOrKeyword(tasksOnDate);
+    }
+
+    /**
+     * returns all deadlines due and all events taking place between two dates, both inclusive
+     *
+     * @param from first date to check
+     * @param to last date to check
+     * @throws TaskException if the first date is after the last date
+     */
+    public String getTasksBetween(LocalDate from, LocalDate to) throws TaskException {
+        if (from.isAfter(to)) {
+            throw new TaskException("Start date " + from + " is after end date " + to);
+        }
+        waitUntilLoaded();
+        Snapshot current = withDateIndex();
+        List<Task> tasksBetween = current.dateIndex.between(from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                current.tasks);
+        return ui.printTasksOnDateOrKeyword(tasksBetween);
+    }
+
+    /**
+     * returns the next unmarked deadlines and events from now on, soonest first
+     *
+     * @param count most tasks to show
+     */
+    public String upcomingTasks(int count) {
+        return ui.printUpcoming(getUpcomingTasks(LocalDateTime.now(), LocalDateTime.MAX, count));
+    }
+
+    /**
+     * Returns the unmarked deadlines due and events starting in [from, to), soonest first, from the
+     * date index, which skips the marked ones without visiting them
+     *
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param limit most tasks to return
+     * @return the first unmarked tasks in the range
+     */
+    public List<Task> getUpcomingTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        waitUntilLoaded();
+        Snapshot current = withDateIndex();
+        return current.dateIndex.upcoming(from, to, limit, current.tasks);
+    }
+
+    /**
+     * Returns the task with the given ID in the current snapshot
+     *
+     * @param id ID of the task
+     * @return the task, or null if there is none, e.g. as it was deleted
+     */
+    public Task getTask(long id) {
+        TaskVector tasks = snapshot.tasks;
+        int index = tasks.indexOf(id, 0);
+        return index < 0 ? null : tasks.get(index);
+    }
+
+    /**
+     * Returns the current snapshot with its date index, building the index on first use so that startup
+     * does not pay for it. It is built outside the lock, so changes carry on meanwhile, and published if
+     * none was made, as it has to be kept up to date from then on; otherwise it only serves this query
+     * and the next one builds it again.
+     */
+    private Snapshot withDateIndex() {
+        Snapshot current = snapshot;
+        if (current.dateIndex != null) {
+            return current;
+        }
+        DateIndex dateIndex = DateIndex.of(current.tasks);
+        synchronized (this) {
+            Snapshot latest = snapshot;
+            if (latest.tasks == current.tasks) {
+                if (latest.dateIndex == null) {
+                    latest = new Snapshot(latest.tasks, latest.keywordIndex, dateIndex, latest.nextSequence,
+                            latest.version, latest.isComplete);
+                    snapshot = latest;
                 }
-            } else if (task instanceof Event) {
-                Event event = (Event) task;
-                if (event.getFromDate().isEqual(date.atStartOfDay())) {
-                    tasksOnDate.add(task);
+                return latest;
+            }
+        }
+        return new Snapshot(current.tasks, current.keywordIndex, dateIndex, current.nextSequence,
+                current.version, current.isComplete);
+    }
+
+    /**
+     * Returns the current snapshot with its keyword index, building it the same way as the date index if
+     * the store leaves it until the first find, or a rebuild dropped it
+     */
+    private Snapshot withKeywordIndex() {
+        Snapshot current = snapshot;
+        if (current.keywordIndex != null) {
+            return current;
+        }
+        KeywordIndex keywordIndex = KeywordIndex.of(current.tasks);
+        synchronized (this) {
+            Snapshot latest = snapshot;
+            if (latest.tasks == current.tasks) {
+                if (latest.keywordIndex == null) {
+                    latest = new Snapshot(latest.tasks, keywordIndex, latest.dateIndex, latest.nextSequence,
+                            latest.version, latest.isComplete);
+                    snapshot = latest;
                 }
+                return latest;
             }
         }
-        return ui.printTasksOnDateOrKeyword(tasksOnDate);
+        return new Snapshot(current.tasks, keywordIndex, current.dateIndex, current.nextSequence,
+                current.version, current.isComplete);
     }
 
     /**
-     * returns all tasks with keyword
+     * returns all tasks with descriptions containing words starting with every word of the keyword,
+     * looked up in the keyword index
      *
      * @param keyword keyword to check
-     * @param taskList tasklist to operate on
      */
-    public String findTasks(String keyword, TaskList taskList) {
+    public String findTasks(String keyword) {
+        return ui.printTasksOnDateOrKeyword(getTasksWithKeyword(keyword));
+    }
+
+    /**
+     * Returns the tasks with descriptions containing words starting with every word of the keyword,
+     * from the current snapshot
+     *
+     * @param keyword keyword to check
+     * @return matching tasks in TaskList order
+     */
+    public List<Task> getTasksWithKeyword(String keyword) {
+        waitUntilLoaded();
+        Snapshot current = withKeywordIndex();
+        List<Task> tasksWithKeyword = current.keywordIndex.search(keyword, current.tasks);
+        if (tasksWithKeyword == null) {
+            return containing(keyword, current);
+        }
+        return tasksWithKeyword;
+    }
+
+    /**
+     * returns all tasks with descriptions containing the keyword anywhere, ignoring case
+     *
+     * @param keyword keyword to check
+     */
+    public String findTasksContaining(String keyword) {
+        return ui.printTasksOnDateOrKeyword(getTasksContaining(keyword));
+    }
+
+    /**
+     * Returns the tasks with descriptions containing the keyword anywhere, ignoring case, from the current
+     * snapshot. Only the tasks with the trigrams of the keyword in the trigram index are compared with it,
+     * unless the keyword has no letters or digits to look up.
+     *
+     * @param keyword keyword to check
+     * @return matching tasks in TaskList order
+     */
+    public List<Task> getTasksContaining(String keyword) {
+        waitUntilLoaded();
+        Snapshot current = snapshot;
+        List<Task> tasksContaining = trigramIndex(current.tasks).containing(keyword, current.tasks);
+        if (tasksContaining == null) {
+            return containing(keyword, current);
+        }
+        return tasksContaining;
+    }
+
+    /**
+     * returns the tasks with descriptions closest to the query, allowing for typos
+     *
+     * @param query text to look for
+     * @param limit most tasks to show
+     */
+    public String searchTasks(String query, int limit) {
+        return ui.printSearchResults(getClosestTasks(query, limit));
+    }
+
+    /**
+     * Returns the tasks with descriptions closest to the query, looked up in the trigram index, which is
+     * built on the first search and built again once enough tasks were added or deleted since. The index
+     * is built outside the lock, so changes carry on meanwhile and are caught up with by the search.
+     *
+     * @param query text to look for
+     * @param limit most tasks to return
+     * @return the closest tasks, best first
+     */
+    public List<Task> getClosestTasks(String query, int limit) {
+        waitUntilLoaded();
+        Snapshot current = snapshot;
+        return trigramIndex(current.tasks).search(query, limit, current.tasks);
+    }
+
+    /**
+     * Returns the trigram index, building it if there is none or it is stale for the tasks searched
+     */
+    private TrigramIndex trigramIndex(TaskVector tasks) {
+        TrigramIndex index = trigramIndex;
+        if (index == null || index.isStale(tasks)) {
+            index = TrigramIndex.of(tasks);
+            trigramIndex = index;
+        }
+        return index;
+    }
+
+    private static List<Task> containing(String keyword, Snapshot current) {
         List<Task> tasksWithKeyword = new ArrayList<>();
-        for (Task task : taskList.returnTaskList()) {
-            String description = task.getDescription();
-            if (description.toLowerCase().contains(keyword.toLowerCase())) {
+        String lowerCaseKeyword = TrigramIndex.toLowerCase(keyword);
+        for (Task task : current.tasks.asList()) {
+            if (TrigramIndex.containsLowerCase(task.getDescription(), lowerCaseKeyword)) {
                 tasksWithKeyword.add(task);
             }
         }
-        return ui.printTasksOnDateOrKeyword(tasksWithKeyword);
+        return tasksWithKeyword;
     }
 }
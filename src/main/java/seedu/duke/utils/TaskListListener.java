@@ -0,0 +1,55 @@
+package seedu.duke.utils;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * Listener that is notified of every mutation applied to a TaskList
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is appended to the list
+     *
+     * @param task task that was added
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Called after a task is removed from the list
+     *
+     * @param index 1-based index the task was removed from
+     */
+    void taskDeleted(int index);
+
+    /**
+     * Called after the marked state of a task changes
+     *
+     * @param index 1-based index of the task
+     * @param isMarked new marked state
+     */
+    void taskMarked(int index, boolean isMarked);
+
+    /**
+     * Called after several tasks are removed from the list at once. By default this is taken as
+     * removing them one at a time, from the last to the first.
+     *
+     * @param indexes 1-based indexes the tasks were removed from, in increasing order
+     */
+    default void tasksDeleted(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            taskDeleted(indexes[i]);
+        }
+    }
+
+    /**
+     * Called after the marked state of several tasks changes at once. By default this is taken as
+     * marking them one at a time.
+     *
+     * @param indexes 1-based indexes of the tasks, in increasing order
+     * @param isMarked new marked state
+     */
+    default void tasksMarked(int[] indexes, boolean isMarked) {
+        for (int index : indexes) {
+            taskMarked(index, isMarked);
+        }
+    }
+}
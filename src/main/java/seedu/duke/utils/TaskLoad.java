@@ -0,0 +1,44 @@
+package seedu.duke.utils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * Tasks read from storage in two parts: the first tasks, read before Duke starts, and the rest of them,
+ * still being read in the background
+ */
+public class TaskLoad {
+    private final List<Task> first;
+    private final CompletableFuture<List<Task>> rest;
+
+    /**
+     * constructor for TaskLoad
+     *
+     * @param first tasks at the start of the list
+     * @param rest tasks after them, once they are read
+     */
+    public TaskLoad(List<Task> first, CompletableFuture<List<Task>> rest) {
+        this.first = first;
+        this.rest = rest;
+    }
+
+    /**
+     * Returns a load of tasks that were all read already
+     *
+     * @param tasks all tasks
+     * @return the load
+     */
+    public static TaskLoad of(List<Task> tasks) {
+        return new TaskLoad(tasks, CompletableFuture.completedFuture(List.of()));
+    }
+
+    public List<Task> getFirst() {
+        return first;
+    }
+
+    public CompletableFuture<List<Task>> getRest() {
+        return rest;
+    }
+}
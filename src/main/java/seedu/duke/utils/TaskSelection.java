@@ -0,0 +1,152 @@
+package seedu.duke.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import seedu.duke.exceptions.NotIntegerException;
+import seedu.duke.exceptions.TaskException;
+
+/**
+ * Tasks picked by delete, mark or unmark: task numbers, ranges and task IDs after a #, separated by commas,
+ * e.g. 1,4,9-12,#37, or `done` for every marked task.
+ * A selection is only text until the TaskList resolves it against the tasks it holds at the time of the
+ * change, so `done` picks the tasks that are marked then, and ranges are checked before being expanded.
+ */
+public class TaskSelection {
+    private static final String DONE = "done";
+
+    private final int[] starts;
+    private final int[] ends;
+    private final long[] ids;
+    private final boolean isDone;
+
+    private TaskSelection(int[] starts, int[] ends, long[] ids, boolean isDone) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Returns the selection of a single task
+     *
+     * @param index 1-based index of the task
+     * @return the selection
+     */
+    public static TaskSelection of(int index) {
+        return new TaskSelection(new int[] {index}, new int[] {index}, new long[0], false);
+    }
+
+    /**
+     * Parses a selection
+     * E.g. 3, 5-500, 1,4,9, #37, done
+     *
+     * @param text text to parse
+     * @return the selection
+     * @throws NotIntegerException if a task number is not an integer
+     * @throws TaskException if a range ends before it starts
+     */
+    public static TaskSelection parse(String text) throws NotIntegerException, TaskException {
+        String trimmed = text.trim();
+        if (trimmed.equalsIgnoreCase(DONE)) {
+            return new TaskSelection(new int[0], new int[0], new long[0], true);
+        }
+        String[] items = trimmed.split(",", -1);
+        int[] starts = new int[items.length];
+        int[] ends = new int[items.length];
+        long[] ids = new long[items.length];
+        int rangeCount = 0;
+        int idCount = 0;
+        for (String untrimmed : items) {
+            String item = untrimmed.trim();
+            if (item.startsWith("#")) {
+                ids[idCount++] = parseNumber(item, 1, item.length());
+                continue;
+            }
+            // a dash at the start is the sign of a single number
+            int dash = item.indexOf('-', 1);
+            int start = (int) parseNumber(item, 0, dash < 0 ? item.length() : dash);
+            int end = dash < 0 ? start : (int) parseNumber(item, dash + 1, item.length());
+            if (end < start) {
+                throw new TaskException("Invalid range " + item + ", it ends before it starts");
+            }
+            starts[rangeCount] = start;
+            ends[rangeCount++] = end;
+        }
+        return new TaskSelection(Arrays.copyOf(starts, rangeCount), Arrays.copyOf(ends, rangeCount),
+                Arrays.copyOf(ids, idCount), false);
+    }
+
+    private static long parseNumber(String item, int from, int to) throws NotIntegerException {
+        String number = item.substring(from, to).trim();
+        long value = CommandTokenizer.parseInteger(number, 0, number.length());
+        if (value == CommandTokenizer.NOT_INTEGER) {
+            throw new NotIntegerException();
+        }
+        return value;
+    }
+
+    /**
+     * Returns true if the selection is a single task number
+     */
+    public boolean isSingle() {
+        return !isDone && ids.length == 0 && starts.length == 1 && starts[0] == ends[0];
+    }
+
+    /**
+     * Returns true if the selection only has task numbers up to the given one, so it can be resolved
+     * against the first tasks of a list that is still loading
+     */
+    boolean isWithin(int size) {
+        if (isDone || ids.length > 0) {
+            return false;
+        }
+        for (int end : ends) {
+            if (end > size) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first task number of the selection
+     */
+    public int first() {
+        return starts[0];
+    }
+
+    /**
+     * Returns the 0-based positions of the selected tasks, in order and without repeats
+     *
+     * @param tasks tasks to select from
+     * @return positions in the vector
+     * @throws TaskException if a task number or ID is not in the vector
+     */
+    int[] positions(TaskVector tasks) throws TaskException {
+        int size = tasks.size();
+        BitSet selected = new BitSet(size);
+        if (isDone) {
+            for (int i = 0; i < size; i++) {
+                if (tasks.isMarked(i)) {
+                    selected.set(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < starts.length; i++) {
+                if (starts[i] <= 0 || ends[i] > size) {
+                    throw new TaskException("Invalid task index. Valid indexes from 1 to " + size);
+                }
+                selected.set(starts[i] - 1, ends[i]);
+            }
+            for (long id : ids) {
+                int position = tasks.indexOf(id, 0);
+                if (position < 0) {
+                    throw new TaskException("No task with ID #" + id);
+                }
+                selected.set(position);
+            }
+        }
+        return selected.stream().toArray();
+    }
+}
@@ -0,0 +1,157 @@
+package seedu.duke.utils;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * Immutable list of tasks, each with the sequence number it was given when it was added, which is also
+ * its ID. Sequence numbers increase along the list, so a task can be found by its sequence number with a
+ * binary search even after tasks before it were deleted.
+ * An update returns a new vector sharing most of its storage with the old one, which may be written
+ * into where no older vector can see it. Only the newest vector may be updated, and only by one
+ * thread at a time. ObjectTaskVector holds Task objects, ColumnarTaskVector holds the fields of the
+ * tasks in arrays and creates Task objects when they are read. Neither moves tasks to delete them:
+ * a TombstoneVector over them marks the deleted ones until compact copies the rest to a new vector.
+ */
+abstract class TaskVector {
+    static TaskVector empty() {
+        return ObjectTaskVector.EMPTY;
+    }
+
+    static TaskVector emptyColumnar() {
+        return ColumnarTaskVector.empty();
+    }
+
+    abstract int size();
+
+    abstract Task get(int index);
+
+    abstract long sequence(int index);
+
+    /**
+     * Returns a vector with the task added at the end, with its ID as its sequence number
+     */
+    abstract TaskVector append(Task task);
+
+    /**
+     * Returns a vector with the task at the index replaced by one with the same ID
+     */
+    abstract TaskVector set(int index, Task task);
+
+    /**
+     * Returns a vector without the task at the index
+     */
+    TaskVector remove(int index) {
+        return removeAll(new int[] {index});
+    }
+
+    /**
+     * Returns a vector without the tasks at the indexes, which are in order and without repeats.
+     * No task is moved, the tasks removed are only marked as deleted.
+     */
+    TaskVector removeAll(int[] indexes) {
+        if (indexes.length == 0) {
+            return this;
+        }
+        return TombstoneVector.over(this).removeAll(indexes);
+    }
+
+    /**
+     * Returns a vector with the tasks at the indexes, which are in order, in the given marked state.
+     * Every chunk changed is copied once.
+     */
+    abstract TaskVector setMarked(int[] indexes, boolean isMarked);
+
+    boolean isMarked(int index) {
+        return get(index).isMarked();
+    }
+
+    /**
+     * Returns true if the task at the index is a deadline or an event
+     */
+    boolean isDated(int index) {
+        return DateIndex.isDated(get(index));
+    }
+
+    /**
+     * Returns the epoch minute the deadline at the index is due or the event at it starts at
+     */
+    long startMinute(int index) {
+        return DateIndex.startOf(get(index));
+    }
+
+    /**
+     * Returns the epoch minute the deadline at the index is due or the event at it ends at, never before
+     * its start
+     */
+    long endMinute(int index) {
+        return DateIndex.endOf(get(index));
+    }
+
+    /**
+     * Returns an empty vector storing tasks the same way as this one, and sharing no storage with it
+     */
+    abstract TaskVector emptyLike();
+
+    /**
+     * Returns the number of deleted tasks still taking space in this vector
+     */
+    int deadCount() {
+        return 0;
+    }
+
+    /**
+     * Returns a vector with the same tasks taking no space for deleted ones. It shares no storage with
+     * this vector if there were any.
+     */
+    TaskVector compact() {
+        return this;
+    }
+
+    /**
+     * Finds the task with the given sequence number, searching from the given index onwards
+     *
+     * @return the index of the task, or -1 if it is not in this vector
+     */
+    int indexOf(long sequence, int from) {
+        int low = from;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = sequence(middle);
+            if (found < sequence) {
+                low = middle + 1;
+            } else if (found > sequence) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a read only view of the tasks
+     */
+    List<Task> asList() {
+        return new View();
+    }
+
+    private class View extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+            }
+            return TaskVector.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return TaskVector.this.size();
+        }
+    }
+}
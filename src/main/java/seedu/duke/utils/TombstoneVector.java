@@ -0,0 +1,201 @@
+package seedu.duke.utils;
+
+import java.util.Arrays;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * TaskVector over the slots of another one, some of which hold deleted tasks, so that deleting a task
+ * moves no other task. Every chunk of CHUNK_SIZE slots with a deleted task has a bitmap of its deleted
+ * slots, and deadBefore counts the deleted slots in the chunks before each one.
+ * A position is turned into a slot directly before the first deleted slot and after the last chunk with
+ * one, and otherwise with a binary search over deadBefore and a count of the bits in one bitmap.
+ * Deleting copies the bitmaps it changes and the two arrays over the chunks, never the tasks, which
+ * stay in the slots until compact copies the others to a new vector.
+ */
+class TombstoneVector extends TaskVector {
+    private static final int SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int WORDS = CHUNK_SIZE / Long.SIZE;
+
+    private final TaskVector slots;
+    private final long[][] dead;
+    private final int[] deadBefore;
+    private final int firstDead;
+
+    private TombstoneVector(TaskVector slots, long[][] dead, int[] deadBefore, int firstDead) {
+        this.slots = slots;
+        this.dead = dead;
+        this.deadBefore = deadBefore;
+        this.firstDead = firstDead;
+    }
+
+    /**
+     * Returns a vector of the tasks of the given one with no tombstones yet
+     */
+    static TombstoneVector over(TaskVector slots) {
+        return new TombstoneVector(slots, new long[0][], new int[1], Integer.MAX_VALUE);
+    }
+
+    @Override
+    int size() {
+        return slots.size() - deadCount();
+    }
+
+    @Override
+    int deadCount() {
+        return deadBefore[dead.length];
+    }
+
+    @Override
+    Task get(int index) {
+        return slots.get(slotOf(index));
+    }
+
+    @Override
+    long sequence(int index) {
+        return slots.sequence(slotOf(index));
+    }
+
+    @Override
+    boolean isMarked(int index) {
+        return slots.isMarked(slotOf(index));
+    }
+
+    @Override
+    boolean isDated(int index) {
+        return slots.isDated(slotOf(index));
+    }
+
+    @Override
+    long startMinute(int index) {
+        return slots.startMinute(slotOf(index));
+    }
+
+    @Override
+    long endMinute(int index) {
+        return slots.endMinute(slotOf(index));
+    }
+
+    @Override
+    TaskVector append(Task task) {
+        return new TombstoneVector(slots.append(task), dead, deadBefore, firstDead);
+    }
+
+    @Override
+    TaskVector set(int index, Task task) {
+        return new TombstoneVector(slots.set(slotOf(index), task), dead, deadBefore, firstDead);
+    }
+
+    @Override
+    TaskVector setMarked(int[] indexes, boolean isMarked) {
+        return new TombstoneVector(slots.setMarked(slotsOf(indexes), isMarked), dead, deadBefore, firstDead);
+    }
+
+    @Override
+    TaskVector removeAll(int[] indexes) {
+        if (indexes.length == 0) {
+            return this;
+        }
+        int[] removed = slotsOf(indexes);
+        int lastChunk = removed[removed.length - 1] >>> SHIFT;
+        long[][] newDead = Arrays.copyOf(dead, Math.max(dead.length, lastChunk + 1));
+        int copiedChunk = -1;
+        for (int slot : removed) {
+            int chunk = slot >>> SHIFT;
+            if (chunk != copiedChunk) {
+                newDead[chunk] = chunk < dead.length && dead[chunk] != null ? dead[chunk].clone() : new long[WORDS];
+                copiedChunk = chunk;
+            }
+            newDead[chunk][(slot & (CHUNK_SIZE - 1)) >>> 6] |= 1L << slot;
+        }
+        // deadBefore is only copied up to the old last chunk with a deleted slot, the counts after it are new
+        int firstChunk = Math.min(removed[0] >>> SHIFT, dead.length);
+        int[] newDeadBefore = Arrays.copyOf(deadBefore, newDead.length + 1);
+        for (int chunk = firstChunk; chunk < newDead.length; chunk++) {
+            newDeadBefore[chunk + 1] = newDeadBefore[chunk] + countOf(newDead[chunk]);
+        }
+        return new TombstoneVector(slots, newDead, newDeadBefore, Math.min(firstDead, removed[0]));
+    }
+
+    @Override
+    TaskVector emptyLike() {
+        return slots.emptyLike();
+    }
+
+    @Override
+    TaskVector compact() {
+        TaskVector compacted = slots.emptyLike();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            if (!isDead(slot)) {
+                compacted = compacted.append(slots.get(slot));
+            }
+        }
+        return compacted;
+    }
+
+    private boolean isDead(int slot) {
+        int chunk = slot >>> SHIFT;
+        return chunk < dead.length && dead[chunk] != null
+                && (dead[chunk][(slot & (CHUNK_SIZE - 1)) >>> 6] & (1L << slot)) != 0;
+    }
+
+    private int[] slotsOf(int[] indexes) {
+        int[] slotIndexes = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            slotIndexes[i] = slotOf(indexes[i]);
+        }
+        return slotIndexes;
+    }
+
+    /**
+     * Returns the slot of the task at the position, counting only tasks that are not deleted
+     */
+    private int slotOf(int index) {
+        if (index < firstDead) {
+            return index;
+        }
+        int deadCount = deadCount();
+        if (index + deadCount >= dead.length << SHIFT) {
+            return index + deadCount;
+        }
+        // the last chunk with fewer tasks before it than the index
+        int low = 0;
+        int high = dead.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if ((middle << SHIFT) - deadBefore[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int rank = index - ((low << SHIFT) - deadBefore[low]);
+        long[] bits = dead[low];
+        if (bits == null) {
+            return (low << SHIFT) + rank;
+        }
+        for (int word = 0; ; word++) {
+            long live = ~bits[word];
+            int count = Long.bitCount(live);
+            if (rank < count) {
+                for (int i = 0; i < rank; i++) {
+                    live &= live - 1;
+                }
+                return (low << SHIFT) + (word << 6) + Long.numberOfTrailingZeros(live);
+            }
+            rank -= count;
+        }
+    }
+
+    private static int countOf(long[] bits) {
+        if (bits == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
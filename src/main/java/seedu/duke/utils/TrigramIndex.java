@@ -0,0 +1,719 @@
+package seedu.duke.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import seedu.duke.tasks.Task;
+
+/**
+ * Trigram index over task descriptions, for search that tolerates typos and ranks what it finds, and for
+ * finding the tasks containing a keyword without comparing it with every description.
+ * Every lower case word is padded with two spaces in front and one behind and cut into overlapping
+ * trigrams, e.g. book -> "  b", " bo", "boo", "ook", "ok ". A task matches a query if it has at least
+ * MIN_SIMILARITY of the trigrams of the query, which a typo changes only a few of. Matches are ranked by
+ * the number of trigrams they share with the query, then by how few trigrams they have, so that closer and
+ * shorter descriptions come first, and only the best k are kept in a bounded heap.
+ * The index never changes once built. The posting of a trigram lists the ordinals of the tasks containing
+ * it, as gaps in variable length bytes, or as a bitmap if it is in so many tasks that the bitmap is at
+ * most four times larger. A query counts the trigrams each task shares with it in bit sliced counters,
+ * one bit plane per bit of the count, so a bitmap is added 64 tasks at a time, and the tasks sharing
+ * enough trigrams are picked out 64 at a time as well. Once the heap is full, only tasks sharing at least
+ * as many trigrams as the worst match kept are picked out.
+ * Tasks added after the index was built are compared with the query one by one, and deleted tasks are
+ * skipped when their sequence numbers are looked up in the vector searched, until isStale tells the
+ * TaskList to build a new index.
+ */
+class TrigramIndex {
+    static final double MIN_SIMILARITY = 0.4;
+
+    private static final char PAD = ' ';
+    private static final int MAX_QUERY_TRIGRAMS = 255;
+    private static final int MIN_STALE = 1024;
+
+    private final KeyTable keys;
+    private final int[] offsets;
+    private final byte[] postings;
+    private final long[][] bitmaps;
+    private final long[] sequences;
+    private final int[] trigramCounts;
+    private final long endSequence;
+
+    private TrigramIndex(KeyTable keys, int[] offsets, byte[] postings, long[][] bitmaps, long[] sequences,
+            int[] trigramCounts) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+        this.bitmaps = bitmaps;
+        this.sequences = sequences;
+        this.trigramCounts = trigramCounts;
+        this.endSequence = sequences.length == 0 ? Long.MIN_VALUE : sequences[sequences.length - 1] + 1;
+    }
+
+    /**
+     * Builds the index over the tasks in the vector, in two passes over the descriptions: one to size
+     * the posting of every trigram and choose its form, one to fill them in
+     *
+     * @param tasks tasks to index
+     * @return the index
+     */
+    static TrigramIndex of(TaskVector tasks) {
+        int taskCount = tasks.size();
+        long[] sequences = new long[taskCount];
+        int[] trigramCounts = new int[taskCount];
+        KeyTable keys = new KeyTable();
+        int[] counts = new int[64];
+        long[] byteCounts = new long[64];
+        int[] lastOrdinals = new int[64];
+        long[] scratch = new long[64];
+        for (int ordinal = 0; ordinal < taskCount; ordinal++) {
+            String description = tasks.get(ordinal).getDescription();
+            scratch = ensureRoom(scratch, description);
+            int count = trigramsOf(description, scratch);
+            sequences[ordinal] = tasks.sequence(ordinal);
+            trigramCounts[ordinal] = count;
+            for (int i = 0; i < count; i++) {
+                int id = keys.add(scratch[i]);
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, id * 2);
+                    byteCounts = Arrays.copyOf(byteCounts, id * 2);
+                    lastOrdinals = Arrays.copyOf(lastOrdinals, id * 2);
+                }
+                byteCounts[id] += lengthOf(ordinal - (counts[id] == 0 ? 0 : lastOrdinals[id]));
+                counts[id]++;
+                lastOrdinals[id] = ordinal;
+            }
+        }
+        int wordCount = (taskCount + 63) >>> 6;
+        long[][] bitmaps = new long[keys.size()][];
+        int[] offsets = new int[keys.size() + 1];
+        for (int id = 0; id < keys.size(); id++) {
+            // a bitmap takes more memory, but is counted 64 tasks at a time
+            if (byteCounts[id] * 4 >= wordCount * (long) Long.BYTES) {
+                bitmaps[id] = new long[wordCount];
+                byteCounts[id] = 0;
+            }
+            long end = offsets[id] + byteCounts[id];
+            if (end > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many tasks to index: " + taskCount);
+            }
+            offsets[id + 1] = (int) end;
+        }
+        byte[] postings = new byte[offsets[keys.size()]];
+        int[] positions = Arrays.copyOf(offsets, keys.size());
+        Arrays.fill(lastOrdinals, 0);
+        for (int ordinal = 0; ordinal < taskCount; ordinal++) {
+            int count = trigramsOf(tasks.get(ordinal).getDescription(), scratch);
+            for (int i = 0; i < count; i++) {
+                int id = keys.find(scratch[i]);
+                if (bitmaps[id] != null) {
+                    bitmaps[id][ordinal >>> 6] |= 1L << ordinal;
+                } else {
+                    positions[id] = write(postings, positions[id], ordinal - lastOrdinals[id]);
+                    lastOrdinals[id] = ordinal;
+                }
+            }
+        }
+        return new TrigramIndex(keys, offsets, postings, bitmaps, sequences, trigramCounts);
+    }
+
+    /**
+     * Returns true if so many tasks were added to or deleted from the vector since the index was built
+     * that a new index is worth building
+     *
+     * @param tasks tasks the index would be searched with
+     */
+    boolean isStale(TaskVector tasks) {
+        int addedCount = addedCount(tasks);
+        int deletedCount = sequences.length - (tasks.size() - addedCount);
+        return addedCount + deletedCount > Math.max(MIN_STALE, sequences.length / 32);
+    }
+
+    /**
+     * Returns the tasks at the end of the vector that were added after the index was built
+     */
+    private int addedCount(TaskVector tasks) {
+        int count = 0;
+        for (int i = tasks.size() - 1; i >= 0 && tasks.sequence(i) >= endSequence; i--) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tasks in the vector closest to the query, best first
+     *
+     * @param query text to look for
+     * @param limit most tasks to return
+     * @param tasks tasks to look the matches up in
+     * @return the closest tasks, none if no task is close enough
+     */
+    List<Task> search(String query, int limit, TaskVector tasks) {
+        long[] queryKeys = new long[2 * query.length() + 2];
+        int queryCount = Math.min(trigramsOf(query, queryKeys), MAX_QUERY_TRIGRAMS);
+        if (queryCount == 0) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(MIN_SIMILARITY * queryCount));
+        Ranking ranking = new Ranking(limit, tasks);
+
+        // plane p holds bit p of the number of query trigrams each task has, 64 tasks to a word
+        long[][] planes = new long[32 - Integer.numberOfLeadingZeros(queryCount)][(sequences.length + 63) >>> 6];
+        for (int i = 0; i < queryCount; i++) {
+            int id = keys.find(queryKeys[i]);
+            if (id < 0) {
+                continue;
+            }
+            if (bitmaps[id] != null) {
+                long[] bitmap = bitmaps[id];
+                for (int word = 0; word < bitmap.length; word++) {
+                    add(planes, word, bitmap[word]);
+                }
+                continue;
+            }
+            int ordinal = 0;
+            int position = offsets[id];
+            while (position < offsets[id + 1]) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = postings[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                ordinal += gap;
+                add(planes, ordinal >>> 6, 1L << ordinal);
+            }
+        }
+        for (int word = 0; word < planes[0].length; word++) {
+            long matches = atLeast(planes, word, Math.max(minShared, ranking.minShared()));
+            while (matches != 0) {
+                int bit = Long.numberOfTrailingZeros(matches);
+                matches &= matches - 1;
+                int ordinal = (word << 6) + bit;
+                ranking.offer(sequences[ordinal], countAt(planes, word, bit), trigramCounts[ordinal], -1);
+            }
+        }
+
+        int addedCount = addedCount(tasks);
+        long[] scratch = new long[64];
+        for (int index = tasks.size() - addedCount; index < tasks.size(); index++) {
+            String description = tasks.get(index).getDescription();
+            scratch = ensureRoom(scratch, description);
+            int count = trigramsOf(description, scratch);
+            int sharedCount = sharedCount(queryKeys, queryCount, scratch, count);
+            if (sharedCount >= minShared) {
+                ranking.offer(tasks.sequence(index), sharedCount, count, index);
+            }
+        }
+        return ranking.best();
+    }
+
+    /**
+     * Returns the tasks in the vector whose descriptions contain the query, ignoring case, in vector order.
+     * The words of the query are cut into trigrams as descriptions are, except that a word at either end
+     * of the query may be part of a longer word, so it is not padded on that side. Only the tasks with
+     * every one of these trigrams are compared with the query. A query too short to have a trigram, such
+     * as oy, takes the tasks with any trigram ending in it instead.
+     *
+     * @param query text to look for
+     * @param tasks tasks to look the matches up in
+     * @return matching tasks, or null if the query has no letters or digits to look up
+     */
+    List<Task> containing(String query, TaskVector tasks) {
+        String lowerQuery = toLowerCase(query);
+        long[] required = new long[2 * query.length() + 2];
+        int requiredCount = 0;
+        String fragment = null;
+        int start = -1;
+        for (int i = 0; i <= lowerQuery.length(); i++) {
+            boolean isWordChar = i < lowerQuery.length() && Character.isLetterOrDigit(lowerQuery.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                String padded = (start > 0 ? "" + PAD + PAD : "") + lowerQuery.substring(start, i)
+                        + (i < lowerQuery.length() ? String.valueOf(PAD) : "");
+                for (int end = 3; end <= padded.length(); end++) {
+                    required[requiredCount++] = keyOf(padded.charAt(end - 3), padded.charAt(end - 2),
+                            padded.charAt(end - 1));
+                }
+                if (padded.length() < 3 && (fragment == null || padded.length() > fragment.length())) {
+                    fragment = padded;
+                }
+                start = -1;
+            }
+        }
+        int[] candidates;
+        if (requiredCount > 0) {
+            candidates = withAll(required, requiredCount);
+        } else if (fragment != null) {
+            candidates = endingWith(fragment);
+        } else {
+            return null;
+        }
+
+        List<Task> matches = new ArrayList<>();
+        int from = 0;
+        for (int ordinal : candidates) {
+            int index = tasks.indexOf(sequences[ordinal], from);
+            if (index < 0) {
+                continue;
+            }
+            from = index + 1;
+            Task task = tasks.get(index);
+            if (containsLowerCase(task.getDescription(), lowerQuery)) {
+                matches.add(task);
+            }
+        }
+        for (int index = tasks.size() - addedCount(tasks); index < tasks.size(); index++) {
+            Task task = tasks.get(index);
+            if (containsLowerCase(task.getDescription(), lowerQuery)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the ordinals of the tasks with every one of the trigrams, in order, starting from the trigram
+     * in the fewest tasks and keeping only the ordinals in the posting of each of the others
+     */
+    private int[] withAll(long[] required, int requiredCount) {
+        int[] ids = new int[requiredCount];
+        for (int i = 0; i < requiredCount; i++) {
+            ids[i] = keys.find(required[i]);
+            if (ids[i] < 0) {
+                return new int[0];
+            }
+        }
+        int rarest = 0;
+        for (int i = 1; i < ids.length; i++) {
+            if (postingLength(ids[i]) < postingLength(ids[rarest])) {
+                rarest = i;
+            }
+        }
+        int[] candidates = ordinalsOf(ids[rarest]);
+        int count = candidates.length;
+        for (int i = 0; i < ids.length && count > 0; i++) {
+            if (ids[i] != ids[rarest]) {
+                count = retain(candidates, count, ids[i]);
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Returns the ordinals of the tasks with a trigram ending in the fragment of one or two characters,
+     * going through the distinct trigrams rather than the tasks
+     */
+    private int[] endingWith(String fragment) {
+        long mask = fragment.length() == 1 ? 0xFFFFL : 0xFFFFFFFFL;
+        long suffix = fragment.length() == 1 ? fragment.charAt(0)
+                : keyOf(PAD, fragment.charAt(0), fragment.charAt(1)) & mask;
+        long[] union = new long[(sequences.length + 63) >>> 6];
+        for (int slot = 0; slot < keys.keys.length; slot++) {
+            int id = keys.ids[slot] - 1;
+            if (id < 0 || (keys.keys[slot] & mask) != suffix) {
+                continue;
+            }
+            if (bitmaps[id] != null) {
+                for (int word = 0; word < union.length; word++) {
+                    union[word] |= bitmaps[id][word];
+                }
+            } else {
+                for (int ordinal : ordinalsOf(id)) {
+                    union[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return ordinalsOf(union);
+    }
+
+    /**
+     * Returns how long the posting of the trigram is, counting a bitmap as longer than any list of gaps
+     */
+    private long postingLength(int id) {
+        return bitmaps[id] != null ? Long.MAX_VALUE : offsets[id + 1] - offsets[id];
+    }
+
+    private int[] ordinalsOf(int id) {
+        if (bitmaps[id] != null) {
+            return ordinalsOf(bitmaps[id]);
+        }
+        // a posting has at most one ordinal per byte
+        int[] ordinals = new int[offsets[id + 1] - offsets[id]];
+        int count = 0;
+        int ordinal = 0;
+        int position = offsets[id];
+        while (position < offsets[id + 1]) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            ordinal += gap;
+            ordinals[count++] = ordinal;
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+
+    private static int[] ordinalsOf(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        int[] ordinals = new int[count];
+        int i = 0;
+        for (int word = 0; word < bitmap.length; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                ordinals[i++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * Keeps the first count candidates, which are in order, that are in the posting of the trigram,
+     * moving them to the front
+     *
+     * @return the number of candidates kept
+     */
+    private int retain(int[] candidates, int count, int id) {
+        int kept = 0;
+        if (bitmaps[id] != null) {
+            long[] bitmap = bitmaps[id];
+            for (int i = 0; i < count; i++) {
+                if ((bitmap[candidates[i] >>> 6] & (1L << candidates[i])) != 0) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+        int ordinal = -1;
+        int position = offsets[id];
+        for (int i = 0; i < count; i++) {
+            while (ordinal < candidates[i] && position < offsets[id + 1]) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = postings[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                ordinal = ordinal < 0 ? gap : ordinal + gap;
+            }
+            if (ordinal == candidates[i]) {
+                candidates[kept++] = candidates[i];
+            } else if (ordinal < candidates[i]) {
+                break;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Returns the text with every character in lower case, one character at a time as trigrams are made
+     */
+    static String toLowerCase(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns true if the text contains the lower case query, putting the text in lower case one character
+     * at a time, so that no lower case copy of the text is made
+     */
+    static boolean containsLowerCase(String text, String lowerQuery) {
+        int last = text.length() - lowerQuery.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < lowerQuery.length()
+                    && Character.toLowerCase(text.charAt(start + i)) == lowerQuery.charAt(i)) {
+                i++;
+            }
+            if (i == lowerQuery.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds one to the counts of the tasks whose bits are set, carrying from plane to plane
+     */
+    private static void add(long[][] planes, int word, long bits) {
+        long carry = bits;
+        for (int p = 0; p < planes.length && carry != 0; p++) {
+            long plane = planes[p][word];
+            planes[p][word] = plane ^ carry;
+            carry &= plane;
+        }
+    }
+
+    /**
+     * Returns the bits of the tasks in the word whose counts are at least the minimum, comparing all 64
+     * counts from the highest plane down
+     */
+    private static long atLeast(long[][] planes, int word, int min) {
+        if (min >>> planes.length != 0) {
+            return 0;
+        }
+        long greater = 0;
+        long equal = -1L;
+        for (int p = planes.length - 1; p >= 0; p--) {
+            long plane = planes[p][word];
+            if ((min >>> p & 1) == 0) {
+                greater |= equal & plane;
+                equal &= ~plane;
+            } else {
+                equal &= plane;
+            }
+        }
+        return greater | equal;
+    }
+
+    private static int countAt(long[][] planes, int word, int bit) {
+        int count = 0;
+        for (int p = 0; p < planes.length; p++) {
+            count |= (int) (planes[p][word] >>> bit & 1) << p;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the keys two sorted arrays have in common
+     */
+    private static int sharedCount(long[] first, int firstCount, long[] second, int secondCount) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < firstCount && j < secondCount) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static long[] ensureRoom(long[] scratch, String text) {
+        int needed = 2 * text.length() + 2;
+        return needed <= scratch.length ? scratch : new long[Math.max(needed, scratch.length * 2)];
+    }
+
+    /**
+     * Writes the distinct trigrams of the text into keys, sorted, and returns how many there are.
+     * keys must have room for two more than twice the length of the text.
+     */
+    static int trigramsOf(String text, long[] keys) {
+        int count = 0;
+        char first = PAD;
+        char second = PAD;
+        boolean isInWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : PAD;
+            if (Character.isLetterOrDigit(c)) {
+                if (!isInWord) {
+                    first = PAD;
+                    second = PAD;
+                    isInWord = true;
+                }
+                c = Character.toLowerCase(c);
+                keys[count++] = keyOf(first, second, c);
+                first = second;
+                second = c;
+            } else if (isInWord) {
+                keys[count++] = keyOf(first, second, PAD);
+                isInWord = false;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static long keyOf(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static int lengthOf(int gap) {
+        int length = 1;
+        while ((gap >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int write(byte[] bytes, int position, int gap) {
+        int value = gap;
+        while ((value & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * The best matches offered so far, in a heap with the worst of them on top. A match is only looked up
+     * in the vector if it would be kept, as it may have been deleted.
+     */
+    private static class Ranking {
+        private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt((Match match) -> -match.shared)
+                .thenComparingInt(match -> match.trigramCount)
+                .thenComparingLong(match -> match.sequence);
+
+        private final int limit;
+        private final TaskVector tasks;
+        private final PriorityQueue<Match> heap;
+
+        Ranking(int limit, TaskVector tasks) {
+            this.limit = limit;
+            this.tasks = tasks;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, BEST_FIRST.reversed());
+        }
+
+        void offer(long sequence, int shared, int trigramCount, int knownIndex) {
+            if (heap.size() == limit && (limit == 0 || !isBetter(sequence, shared, trigramCount, heap.peek()))) {
+                return;
+            }
+            int index = knownIndex >= 0 ? knownIndex : tasks.indexOf(sequence, 0);
+            if (index < 0) {
+                return;
+            }
+            heap.offer(new Match(sequence, shared, trigramCount, index));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        /**
+         * Returns the fewest trigrams a match must share with the query to be kept
+         */
+        int minShared() {
+            if (heap.size() < limit) {
+                return 0;
+            }
+            return limit == 0 ? Integer.MAX_VALUE : heap.peek().shared;
+        }
+
+        /**
+         * Compares a match with the worst kept without creating it, as most matches offered are not kept
+         */
+        private static boolean isBetter(long sequence, int shared, int trigramCount, Match worst) {
+            if (shared != worst.shared) {
+                return shared > worst.shared;
+            }
+            if (trigramCount != worst.trigramCount) {
+                return trigramCount < worst.trigramCount;
+            }
+            return sequence < worst.sequence;
+        }
+
+        List<Task> best() {
+            List<Match> matches = new ArrayList<>(heap);
+            Collections.sort(matches, BEST_FIRST);
+            List<Task> best = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                best.add(tasks.get(match.index));
+            }
+            return best;
+        }
+    }
+
+    private static class Match {
+        private final long sequence;
+        private final int shared;
+        private final int trigramCount;
+        private final int index;
+
+        Match(long sequence, int shared, int trigramCount, int index) {
+            this.sequence = sequence;
+            this.shared = shared;
+            this.trigramCount = trigramCount;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Open addressing table from trigrams to consecutive ids
+     */
+    private static class KeyTable {
+        private long[] keys = new long[1024];
+        private int[] ids = new int[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Returns the id of the trigram, giving it the next id if it has none yet
+         */
+        int add(long key) {
+            int slot = slotOf(key, keys);
+            if (ids[slot] != 0) {
+                return ids[slot] - 1;
+            }
+            keys[slot] = key;
+            ids[slot] = ++size;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+            return size - 1;
+        }
+
+        /**
+         * Returns the id of the trigram, or -1 if it has none
+         */
+        int find(long key) {
+            return ids[slotOf(key, keys)] - 1;
+        }
+
+        private int slotOf(long key, long[] table) {
+            int mask = table.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (ids[slot] != 0 && table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new long[oldKeys.length * 2];
+            ids = new int[oldIds.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldIds[i] != 0) {
+                    int slot = slotOf(oldKeys[i], keys);
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package seedu.duke.utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the TaskList to disk on a dedicated writer thread.
+ * A flush requested while another one is already waiting is merged into it, so a burst of
+ * commands within the flush window results in a single write.
+ */
+public class WriteBehindFlusher {
+    private final Storage storage;
+    private final long windowMillis;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> pending;
+
+    /**
+     * constructor for WriteBehindFlusher
+     *
+     * @param storage storage used to write the TaskList
+     * @param windowMillis how long to wait for more changes before writing
+     */
+    public WriteBehindFlusher(Storage storage, long windowMillis) {
+        this.storage = storage;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Schedules a write of the TaskList, unless one is already waiting to run
+     *
+     * @param taskList TaskList to write
+     */
+    public synchronized void schedule(TaskList taskList) {
+        if (pending == null) {
+            pending = writer.schedule(() -> write(taskList), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the TaskList right away and waits for the write to finish
+     *
+     * @param taskList TaskList to write
+     */
+    public void flush(TaskList taskList) {
+        try {
+            writer.submit(() -> write(taskList)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error while saving tasks to file: " + e.getCause());
+        }
+    }
+
+    /**
+     * Writes the TaskList one last time and stops the writer thread
+     *
+     * @param taskList TaskList to write
+     */
+    public void close(TaskList taskList) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        flush(taskList);
+        writer.shutdown();
+    }
+
+    private void write(TaskList taskList) {
+        synchronized (this) {
+            pending = null;
+        }
+        storage.writeIfChanged(taskList);
+    }
+}
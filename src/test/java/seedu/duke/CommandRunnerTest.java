@@ -0,0 +1,51 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.duke.duke.CommandRunner;
+
+public class CommandRunnerTest {
+    @Test
+    public void commandsRunInOrderOffCallerThreadTest() throws InterruptedException {
+        Set<Thread> commandThreads = ConcurrentHashMap.newKeySet();
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService callbacks = Executors.newSingleThreadExecutor();
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CommandRunner runner = new CommandRunner(input -> {
+            commandThreads.add(Thread.currentThread());
+            ran.add(input);
+            if (input.equals("fail 7")) {
+                throw new IllegalStateException("broken");
+            }
+            return "done " + input;
+        }, callbacks);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String input = (i == 7 ? "fail " : "command ") + i;
+            runner.submit(input, responses::add);
+            expected.add(i == 7 ? "Error while running command: broken" : "done " + input);
+        }
+        assertTrue(runner.shutdown(10000L));
+        callbacks.shutdown();
+        assertTrue(callbacks.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(expected, responses);
+        assertEquals(100, ran.size());
+        assertEquals(1, commandThreads.size());
+        assertFalse(commandThreads.contains(Thread.currentThread()));
+    }
+}
@@ -0,0 +1,57 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.duke.Duke;
+import seedu.duke.duke.HeadlessRunner;
+
+public class HeadlessRunnerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void scriptSavedOnceAtEndTest() throws IOException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 0 | eat"));
+        Duke duke = new Duke(file.toString());
+        duke.setSaveInterval(0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+
+        int count = new HeadlessRunner(duke).run(new BufferedReader(new StringReader(
+                "todo Read Book\n\nmark 1\nlist\n")), out);
+
+        assertEquals(3, count);
+        assertEquals(List.of("T | 0 | eat"), Files.readAllLines(file));
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("2. [T][ ] Read Book"));
+        duke.shutdown();
+        assertEquals(List.of("T | 1 | eat", "T | 0 | Read Book"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void byeStopsScriptTest() throws IOException {
+        Duke duke = new Duke(tempDir.resolve("duke.txt").toString());
+        duke.setSaveInterval(0);
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+
+        int count = new HeadlessRunner(duke).run(new BufferedReader(new StringReader("todo a\nbye\ntodo b\n")), out);
+
+        assertEquals(2, count);
+        assertEquals(List.of("T | 0 | a"), Files.readAllLines(tempDir.resolve("duke.txt")));
+        duke.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.api.HttpApi;
+import seedu.duke.duke.Duke;
+
+public class HttpApiTest {
+    @TempDir
+    Path tempDir;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void operationsServedAsJsonTest() throws Exception {
+        Duke duke = new Duke(tempDir.resolve("duke.txt").toString());
+        HttpApi api = new HttpApi(0, duke::getResponse);
+        api.start();
+        try {
+            HttpResponse<String> added = client.send(HttpRequest.newBuilder(uri(api, "/api/deadline"))
+                    .POST(HttpRequest.BodyPublishers.ofString("Return \"Book\" /by 2023-09-20 18:00")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, added.statusCode());
+            assertTrue(added.body().startsWith("{\"operation\": \"deadline\", \"response\": \"Got it."));
+            assertTrue(added.body().contains("Return \\\"Book\\\" (by: "));
+
+            HttpResponse<String> found = get(api,
+                    "/api/find?args=" + URLEncoder.encode("book", StandardCharsets.UTF_8));
+            assertTrue(found.body().contains("1 tasks: \\n1. [D][ ] Return \\\"Book\\\""));
+            assertEquals(404, get(api, "/api/fly").statusCode());
+            assertTrue(get(api, "/api").body().contains("\"checkdate\""));
+        } finally {
+            api.stop();
+            duke.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentRequestsAllAppliedTest() throws Exception {
+        Duke duke = new Duke(tempDir.resolve("duke.txt").toString());
+        HttpApi api = new HttpApi(0, duke::getResponse);
+        api.start();
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                statuses.add(clients.submit(() -> get(api, "/api/todo?args=task+" + n).statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get().intValue());
+            }
+        } finally {
+            clients.shutdown();
+            api.stop();
+            duke.shutdown();
+        }
+        assertEquals(200, Files.readAllLines(tempDir.resolve("duke.txt")).size());
+    }
+
+    private HttpResponse<String> get(HttpApi api, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(api, path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(HttpApi api, String path) {
+        return URI.create("http://127.0.0.1:" + api.getPort() + path);
+    }
+}
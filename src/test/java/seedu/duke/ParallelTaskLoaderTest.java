@@ -0,0 +1,56 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.utils.ParallelTaskLoader;
+
+public class ParallelTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void malformedLinesReportedTest() throws IOException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 1 | eat", "T | 0", "D | 0 | return book | 2023-13-01 10:00",
+                "X | 0 | what", "", "E | 0 | sleep | here | 2023-09-19 22:00 | 2023-09-20 10:00"));
+
+        ParallelTaskLoader.Result result = new ParallelTaskLoader(ForkJoinPool.commonPool()).load(file);
+        assertEquals(2, result.getTasks().size());
+        assertEquals("E | 0 | sleep | here | 2023-09-19 22:00 | 2023-09-20 10:00",
+                result.getTasks().get(1).writeFormat());
+        List<String> errors = result.getErrors();
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(0).startsWith("line 2: "));
+        assertTrue(errors.get(1).startsWith("line 3: "));
+        assertTrue(errors.get(2).startsWith("line 4: "));
+    }
+
+    @Test
+    public void largeFileKeepsOrderTest() throws IOException {
+        Path file = tempDir.resolve("duke.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            lines.add(i == 150000 ? "broken line" : "T | 0 | task number " + i);
+        }
+        Files.write(file, lines);
+
+        ParallelTaskLoader.Result result = new ParallelTaskLoader(ForkJoinPool.commonPool()).load(file);
+        assertEquals(199999, result.getTasks().size());
+        for (int i = 0; i < 150000; i++) {
+            assertEquals("task number " + i, result.getTasks().get(i).getDescription());
+        }
+        assertEquals("task number 150001", result.getTasks().get(150000).getDescription());
+        assertEquals(List.of("line 150001: Expected fields separated by \" | \""), result.getErrors());
+    }
+}
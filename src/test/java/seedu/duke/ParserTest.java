@@ -0,0 +1,182 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.CommandMetrics;
+import seedu.duke.utils.Parser;
+import seedu.duke.utils.Storage;
+import seedu.duke.utils.TaskList;
+
+public class ParserTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void descriptionKeepsCaseTest() {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Ui());
+        Parser parser = new Parser(new Storage(tempDir.resolve("duke.txt").toString()));
+
+        parser.parse("TODO Read Book", taskList);
+        parser.parse("deadline Return Book /BY 2023-09-20 18:00", taskList);
+        parser.parse("  event Project Meeting /from 2023-09-21 14:00 /to 2023-09-21 16:00 ", taskList);
+
+        List<Task> tasks = taskList.returnTaskList();
+        assertEquals("Read Book", tasks.get(0).getDescription());
+        assertEquals("Return Book", tasks.get(1).getDescription());
+        assertEquals(LocalDateTime.of(2023, 9, 20, 18, 0), ((Deadline) tasks.get(1)).getByDateTime());
+        assertEquals("Project Meeting", tasks.get(2).getDescription());
+        assertEquals(LocalDateTime.of(2023, 9, 21, 16, 0), ((Event) tasks.get(2)).getToDate());
+    }
+
+    @Test
+    public void invalidInputMessagesTest() {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Ui());
+        Parser parser = new Parser(new Storage(tempDir.resolve("duke.txt").toString()));
+        parser.parse("todo read book", taskList);
+
+        assertEquals("I'm sorry, but I don't know what that means :-(", parser.parse("todos read", taskList));
+        assertEquals("Description cannot be empty\n", parser.parse("todo   ", taskList));
+        assertEquals("Not an Integer\n", parser.parse("mark one", taskList));
+        assertEquals("Not an Integer\n", parser.parse("delete 99999999999", taskList));
+        assertEquals("Invalid task index. Valid indexes from 1 to 1\n", parser.parse("delete 0", taskList));
+        assertEquals("Missing keyword: /by\n", parser.parse("deadline read book", taskList));
+        assertEquals("Task description cannot be empty\n", parser.parse("deadline /by 2023-09-20 18:00", taskList));
+        assertEquals("Details after /by cannot be empty\n", parser.parse("deadline read book /by ", taskList));
+        assertEquals("Details after /to cannot be empty\n",
+                parser.parse("event meeting /from 2023-09-21 14:00", taskList));
+        assertEquals("Description cannot be empty\n", parser.parse("search --top 3 ", taskList));
+        assertEquals("Not an Integer\n", parser.parse("search --top three book", taskList));
+        assertEquals("Here are the closest matches in your list:\n1. #1 [T][ ] read book\n",
+                parser.parse("search --top 1 raed bok", taskList));
+        assertEquals("Not an Integer\n", parser.parse("upcoming next", taskList));
+        assertEquals("Nothing coming up.\n", parser.parse("upcoming 3", taskList));
+        assertEquals(1, taskList.returnTaskList().size());
+    }
+
+    @Test
+    public void pagedListAndFindTest() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            tasks.add(new Todo((i % 2 == 0 ? "read book " : "write essay ") + i, false));
+        }
+        TaskList taskList = new TaskList(tasks, new Ui());
+        Parser parser = new Parser(new Storage(tempDir.resolve("duke.txt").toString()));
+
+        String first = parser.parse("list", taskList);
+        assertTrue(first.startsWith("Here are your tasks, page 1 of 3 (1-100 of 250):\n1. [T][ ] write essay 1\n"));
+        assertTrue(first.endsWith("100. [T][ ] read book 100\nType `more` for the next page\n"));
+        assertTrue(parser.parse("more", taskList).contains("\n101. [T][ ] write essay 101\n"));
+        String last = parser.parse("more", taskList);
+        assertTrue(last.endsWith("250. [T][ ] read book 250\n"));
+        assertEquals("Nothing more to show, use list or find first\n", parser.parse("more", taskList));
+        assertTrue(parser.parse("list 2 --page-size 120", taskList).contains("page 2 of 3 (121-240 of 250)"));
+        assertEquals("Page 4 does not exist, there are 3 pages\n", parser.parse("list 4", taskList));
+        assertEquals("Not an Integer\n", parser.parse("list two", taskList));
+
+        String found = parser.parse("find --page-size 50 book", taskList);
+        assertTrue(found.startsWith("Here are the matching tasks in your list:\n125 tasks, page 1 of 3: \n"
+                + "1. [T][ ] read book 2\n"));
+        assertTrue(parser.parse("more", taskList).contains("\n51. [T][ ] read book 102\n"));
+        assertTrue(parser.parse("find --page 2 --page-size 1 --substring ook 24", taskList)
+                .endsWith("6 tasks, page 2 of 6: \n2. [T][ ] read book 240\nType `more` for the next page\n"));
+        assertTrue(parser.parse("find ook", taskList).startsWith(
+                "Here are the matching tasks in your list:\n125 tasks, page 1 of 2: \n"));
+        assertEquals(parser.parse("find ess", taskList), parser.parse("find --prefix ess", taskList));
+        assertFalse(parser.parse("find --prefix ook", taskList).contains("read book"));
+
+        StringBuilder streamed = new StringBuilder();
+        parser.parse("list", taskList, streamed);
+        assertEquals(taskList.listAllTasks(), streamed.toString());
+        assertTrue(streamed.toString().endsWith("250. [T][ ] read book 250\n"));
+    }
+
+    @Test
+    public void bulkCommandsTest() throws Exception {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Ui());
+        Path file = tempDir.resolve("duke.txt");
+        Parser parser = new Parser(new Storage(file.toString()));
+        for (int i = 1; i <= 10; i++) {
+            parser.parse("todo task " + i, taskList);
+        }
+
+        assertEquals("Nice! I've marked 4 tasks as done.\n", parser.parse("mark 1,3-5", taskList));
+        assertEquals("Nice! I've marked 1 task as done.\n2 were already done.\n",
+                parser.parse("mark 3-4,9", taskList));
+        assertEquals("I've unmarked 1 task.\n1 was already not done.\n", parser.parse("unmark 9 , 10", taskList));
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 7 tasks in the list.\n",
+                parser.parse("delete 2-3,7", taskList));
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 4 tasks in the list.\n",
+                parser.parse("delete done", taskList));
+        assertEquals(List.of("6 | T | 0 | task 6", "8 | T | 0 | task 8", "T | 0 | task 9", "T | 0 | task 10"),
+                Files.readAllLines(file));
+
+        assertEquals("Invalid range 3-1, it ends before it starts\n", parser.parse("delete 3-1", taskList));
+        assertEquals("Invalid task index. Valid indexes from 1 to 4\n", parser.parse("mark 1-9", taskList));
+        assertEquals("Not an Integer\n", parser.parse("delete 1,x", taskList));
+        assertEquals("Noted. I've removed 0 tasks.\nNow you have 4 tasks in the list.\n",
+                parser.parse("delete done", taskList));
+        assertEquals(4, taskList.returnTaskList().size());
+
+        assertEquals("Nice! I've marked this task as done:\n  [T][X] task 9\n", parser.parse("mark #9", taskList));
+        assertEquals("Noted. I've removed 2 tasks.\nNow you have 2 tasks in the list.\n",
+                parser.parse("delete #8,4", taskList));
+        assertEquals("No task with ID #8\n", parser.parse("unmark #8", taskList));
+        assertEquals(List.of("6 | T | 0 | task 6", "9 | T | 1 | task 9"), Files.readAllLines(file));
+
+        Storage storage = new Storage(file.toString());
+        TaskList reloaded = new TaskList(storage.readFile(), new Ui());
+        parser = new Parser(storage);
+        assertTrue(parser.parse("todo task 11", reloaded).startsWith("Got it. I've added this task as #10:"));
+        assertEquals("I've unmarked this task:\n  [T][ ] task 9\n", parser.parse("unmark #9", reloaded));
+        assertEquals(List.of("6 | T | 0 | task 6", "9 | T | 0 | task 9", "T | 0 | task 11"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void statsTest() throws Exception {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Ui());
+        Path file = tempDir.resolve("duke.txt");
+        Parser parser = new Parser(new Storage(file.toString()));
+        assertEquals("Metrics are turned off, start with -Dduke.metrics=true to record them\n",
+                parser.parse("stats", taskList));
+
+        CommandMetrics metrics = new CommandMetrics();
+        parser.setMetrics(metrics);
+        parser.parse("todo read book", taskList);
+        parser.parse("todo return book", taskList);
+        parser.parse("mark 9", taskList);
+        parser.parse("list", taskList);
+
+        String report = parser.parse("stats", taskList);
+        assertTrue(report.startsWith("4 commands in "), report);
+        assertTrue(report.contains("\ntodo             2       0  "), report);
+        assertTrue(report.contains("\nmark             0       1  "), report);
+        assertTrue(report.contains("\nlist             1       0  "), report);
+        assertEquals(1, metrics.getErrorCount());
+        assertEquals(Files.size(file) + "T | 0 | read book\n".length(), metrics.getBytesWritten());
+
+        for (int i = 0; i < 100; i++) {
+            metrics.record(Parser.Operation.FIND, 1000, 2_000_000 + i * 1000, 0, 0);
+        }
+        assertEquals(2050, metrics.percentileMicros("find", "run", 0.5), 2050 / 8.0);
+        assertEquals(2099, metrics.percentileMicros("FIND", "RUN", 1), 0.001);
+        assertEquals("Metrics cleared.\n", parser.parse("stats reset", taskList));
+        // only the stats reset itself
+        assertEquals(1, metrics.getCommandCount());
+    }
+}
@@ -0,0 +1,99 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Todo;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.ReminderScheduler;
+import seedu.duke.utils.TaskList;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Test
+    public void remindersFireOnceWhenDueTest() throws InterruptedException, TaskException {
+        TestClock clock = new TestClock(NOW);
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new Deadline("soon", NOW.plusMinutes(5), false),
+                new Deadline("later", NOW.plusMinutes(40), false), new Deadline("done", NOW.plusMinutes(20), true),
+                new Event("far", NOW.plusMinutes(200), NOW.plusMinutes(260), false), new Todo("todo", false))),
+                new Ui());
+        BlockingQueue<String> reminders = new LinkedBlockingQueue<>();
+        ReminderScheduler scheduler = new ReminderScheduler(taskList, 15, reminders::add, clock, 10, 64);
+        scheduler.start();
+
+        // due within the lead already, so reminded of straight away
+        assertTrue(next(reminders).contains("soon"));
+        taskList.addTask(new Deadline("added", NOW.plusMinutes(30), false));
+        taskList.addTask(new Deadline("gone", NOW.plusMinutes(35), false));
+        taskList.deleteTask(7);
+        taskList.mark(2);
+        taskList.unMark(2);
+        assertNull(reminders.poll(100, TimeUnit.MILLISECONDS));
+
+        clock.set(NOW.plusMinutes(16));
+        assertTrue(next(reminders).contains("added"));
+        clock.set(NOW.plusMinutes(26));
+        assertTrue(next(reminders).contains("later"));
+        assertNull(reminders.poll(100, TimeUnit.MILLISECONDS));
+
+        // beyond the first stretch read from the date index
+        clock.set(NOW.plusMinutes(185));
+        assertTrue(next(reminders).contains("far"));
+        assertNull(reminders.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, reminders.size());
+        scheduler.stop();
+    }
+
+    private static String next(BlockingQueue<String> reminders) throws InterruptedException {
+        String reminder = reminders.poll(5, TimeUnit.SECONDS);
+        return reminder == null ? "" : reminder;
+    }
+
+    /**
+     * Clock that only moves when set
+     */
+    private static class TestClock extends Clock {
+        private volatile Instant instant;
+
+        TestClock(LocalDateTime dateTime) {
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            instant = dateTime.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.exceptions.NotIntegerException;
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.FsyncPolicy;
+import seedu.duke.utils.Parser;
+import seedu.duke.utils.Storage;
+import seedu.duke.utils.TaskArchive;
+import seedu.duke.utils.TaskList;
+import seedu.duke.utils.TaskLoad;
+import seedu.duke.utils.TaskSelection;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void journalReplayTest() throws IOException, TaskException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 0 | eat", "T | 0 | sleep"));
+
+        Storage storage = new Storage(filePath, Storage.Mode.JOURNAL);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        taskList.addTask(new Todo("code", false));
+        taskList.mark(3);
+        taskList.deleteTask(1);
+        storage.save(taskList);
+        storage.close();
+
+        assertEquals(List.of("T | 0 | eat", "T | 0 | sleep"), Files.readAllLines(tempDir.resolve("duke.txt")));
+        List<Task> tasks = new Storage(filePath, Storage.Mode.JOURNAL).readFile();
+        assertEquals(List.of("T | 0 | sleep", "T | 1 | code"), writeFormats(tasks));
+    }
+
+    @Test
+    public void bulkJournalReplayTest() throws IOException, TaskException, NotIntegerException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 0 | a", "T | 0 | b", "T | 0 | c", "T | 1 | d",
+                "T | 0 | e", "T | 0 | f"));
+
+        Storage storage = new Storage(filePath, Storage.Mode.JOURNAL);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        taskList.markTasks(TaskSelection.parse("1-3,6"));
+        taskList.deleteTasks(TaskSelection.parse("2,4-5"));
+        taskList.unMarkTasks(TaskSelection.parse("done"));
+        taskList.addTask(new Todo("g", false));
+        storage.save(taskList);
+        storage.close();
+
+        assertEquals(List.of("MARK | 1-3,6", "DELETE | 2,4-5", "UNMARK | 1-3", "ADD | 7 | T | 0 | g"),
+                Files.readAllLines(tempDir.resolve("duke.txt.journal")));
+        List<Task> tasks = new TaskList(new Storage(filePath, Storage.Mode.JOURNAL).readFile(), new Ui())
+                .returnTaskList();
+        assertEquals(List.of("T | 0 | a", "T | 0 | c", "T | 0 | f", "T | 0 | g"), writeFormats(tasks));
+        assertEquals(List.of(1L, 3L, 6L, 7L), ids(tasks));
+    }
+
+    @Test
+    public void journalCompactionTest() throws IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Files.createFile(tempDir.resolve("duke.txt"));
+
+        Storage storage = new Storage(filePath, Storage.Format.TEXT, Storage.Mode.JOURNAL, 2, 0);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new Todo("task " + i, false));
+            storage.save(taskList);
+        }
+        storage.close();
+
+        assertEquals(List.of("T | 0 | task 1", "T | 0 | task 2"), Files.readAllLines(tempDir.resolve("duke.txt")));
+        assertFalse(Files.exists(tempDir.resolve("duke.txt.journal.1")));
+        assertTrue(Files.exists(tempDir.resolve("duke.txt.journal")));
+        List<Task> tasks = new Storage(filePath, Storage.Mode.JOURNAL).readFile();
+        assertEquals(List.of("T | 0 | task 1", "T | 0 | task 2", "T | 0 | task 3"), writeFormats(tasks));
+    }
+
+    @Test
+    public void interruptedFoldAppliedOnceTest() throws IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        // crashed after the folded snapshot was written, before the segment was deleted
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 0 | eat", "T | 0 | sleep"));
+        Files.write(tempDir.resolve("duke.txt.journal.1"), List.of("ADD | 3 | T | 0 | code", "DELETE | 1"));
+        Files.write(tempDir.resolve("duke.txt.folded"), List.of("2 | T | 0 | sleep", "T | 0 | code"));
+        Files.write(tempDir.resolve("duke.txt.journal"), List.of("MARK | 1"));
+        Storage storage = new Storage(filePath, Storage.Mode.JOURNAL);
+        assertEquals(List.of("T | 1 | sleep", "T | 0 | code"), writeFormats(storage.readFile()));
+        storage.close();
+
+        // crashed after the segment was deleted, before the folded snapshot replaced the old one
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 0 | eat", "T | 0 | sleep"));
+        Files.deleteIfExists(tempDir.resolve("duke.txt.journal.1"));
+        Files.write(tempDir.resolve("duke.txt.folded"), List.of("2 | T | 0 | sleep", "T | 0 | code"));
+        Files.write(tempDir.resolve("duke.txt.journal"), List.of("MARK | 1"));
+        storage = new Storage(filePath, Storage.Mode.JOURNAL);
+        assertEquals(List.of("T | 1 | sleep", "T | 0 | code"), writeFormats(storage.readFile()));
+        storage.close();
+        assertFalse(Files.exists(tempDir.resolve("duke.txt.folded")));
+    }
+
+    @Test
+    public void failedFoldRetriedNotOverwrittenTest() throws IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Files.createFile(tempDir.resolve("duke.txt"));
+
+        Storage storage = new Storage(filePath, Storage.Format.TEXT, Storage.Mode.JOURNAL, 2, 0);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        // a directory in the way of the folded snapshot makes every fold fail
+        Path blocker = Files.createDirectories(tempDir.resolve("duke.txt.folded").resolve("blocker"));
+        for (int i = 1; i <= 6; i++) {
+            if (i == 5) {
+                Files.delete(blocker);
+                Files.delete(blocker.getParent());
+            }
+            taskList.addTask(new Todo("task " + i, false));
+            storage.save(taskList);
+        }
+        storage.close();
+
+        List<Task> tasks = new Storage(filePath, Storage.Mode.JOURNAL).readFile();
+        assertEquals(List.of("T | 0 | task 1", "T | 0 | task 2", "T | 0 | task 3", "T | 0 | task 4",
+                "T | 0 | task 5", "T | 0 | task 6"), writeFormats(tasks));
+    }
+
+    @Test
+    public void unchangedTaskListNotWrittenTest() throws IOException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 0 | eat"));
+
+        Storage storage = new Storage(file.toString());
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        Files.delete(file);
+        taskList.listAllTasks();
+        storage.save(taskList);
+        assertFalse(Files.exists(file));
+
+        taskList.addTask(new Todo("sleep", false));
+        storage.save(taskList);
+        assertEquals(List.of("T | 0 | eat", "T | 0 | sleep"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void writeBehindMergesChangesTest() throws IOException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.createFile(file);
+
+        Storage storage = new Storage(file.toString(), Storage.Format.TEXT, Storage.Mode.WRITE_BEHIND, 1, 60000);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new Todo("task " + i, false));
+            storage.save(taskList);
+        }
+        assertEquals(List.of(), Files.readAllLines(file));
+
+        storage.close();
+        assertEquals(List.of("T | 0 | task 1", "T | 0 | task 2", "T | 0 | task 3"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void binaryMigrationTest() throws IOException, TaskException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 1 | eat", "4 | D | 0 | return book | 2023-09-19 22:00",
+                "E | 0 | go to bed | 2023-09-19 22:00 | 2023-09-20 10:00"));
+
+        Storage storage = new Storage(file.toString(), Storage.Format.BINARY, Storage.Mode.SNAPSHOT);
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        assertTrue(Files.exists(tempDir.resolve("duke.bin")));
+        storage.attach(taskList);
+        taskList.unMark(1);
+        storage.save(taskList);
+
+        List<Task> tasks = new Storage(file.toString(), Storage.Format.BINARY, Storage.Mode.SNAPSHOT).readFile();
+        assertEquals(List.of("T | 0 | eat", "D | 0 | return book | 2023-09-19 22:00",
+                "E | 0 | go to bed | 2023-09-19 22:00 | 2023-09-20 10:00"), writeFormats(tasks));
+        assertEquals(List.of(1L, 4L, 5L), ids(new TaskList(tasks, new Ui()).returnTaskList()));
+    }
+
+    @Test
+    public void fsyncPoliciesTest() throws IOException {
+        assertEquals("always", FsyncPolicy.parse("always").toString());
+        assertEquals("100ms", FsyncPolicy.parse(" 100ms").toString());
+        assertEquals("never", FsyncPolicy.parse("NEVER").toString());
+        assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.parse("sometimes"));
+
+        // more tasks than fit in the write buffer, with descriptions that are not ASCII
+        List<Task> written = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            written.add(new Todo("caf\u00e9 \u2615 \ud83d\ude00 " + i, i % 3 == 0));
+        }
+        for (String policy : List.of("always", "5ms", "never")) {
+            Path file = tempDir.resolve(policy + ".txt");
+            Storage storage = new Storage(file.toString(), Storage.Format.TEXT, Storage.Mode.SNAPSHOT,
+                    Storage.DEFAULT_COMPACT_THRESHOLD, Storage.DEFAULT_FLUSH_WINDOW_MILLIS, FsyncPolicy.parse(policy));
+            storage.writeFile(new TaskList(written, new Ui()));
+
+            assertEquals(Files.size(file), storage.getBytesWritten());
+            assertFalse(Files.exists(tempDir.resolve(policy + ".txt.tmp")));
+            assertEquals(writeFormats(written), writeFormats(new Storage(file.toString()).readFile()));
+        }
+    }
+
+    @Test
+    public void firstTasksReadBeforeRestTest() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            lines.add(i == 1200 ? "T | 2 | broken" : "T | 0 | task " + i);
+        }
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, lines);
+        for (Storage.Format format : Storage.Format.values()) {
+            Storage storage = new Storage(file.toString(), format, Storage.Mode.SNAPSHOT);
+            if (format == Storage.Format.BINARY) {
+                // duke.txt is migrated to duke.bin in full on the first read
+                storage.readFile();
+            }
+            TaskLoad load = storage.readFirst(1000);
+            assertEquals(1000, load.getFirst().size());
+            assertEquals("T | 0 | task 1000", load.getFirst().get(999).writeFormat());
+            List<Task> rest = load.getRest().get(5, TimeUnit.SECONDS);
+            assertEquals(1499, rest.size());
+            assertEquals("T | 0 | task 1001", rest.get(0).writeFormat());
+        }
+    }
+
+    @Test
+    public void changeWhileLoadingSavedOnceLoadedTest() throws Exception {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 0 | eat", "T | 0 | sleep", "T | 0 | code"));
+        Storage storage = new Storage(file.toString());
+        CompletableFuture<List<Task>> rest = new CompletableFuture<>();
+        TaskList taskList = new TaskList(new TaskLoad(storage.readFile().subList(0, 1), rest), new Ui(),
+                TaskList.Store.OBJECTS);
+        storage.attach(taskList);
+
+        taskList.mark(1);
+        storage.save(taskList);
+        assertEquals(List.of("T | 0 | eat", "T | 0 | sleep", "T | 0 | code"), Files.readAllLines(file));
+
+        rest.complete(List.of(new Todo("sleep", false), new Todo("code", false)));
+        assertEquals(List.of("T | 1 | eat", "T | 0 | sleep", "T | 0 | code"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void oldDoneTasksArchivedTest() throws IOException, TaskException, NotIntegerException {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 1 | old todo", "D | 1 | old report | 2020-01-10 18:00",
+                "D | 0 | new report | 2030-01-10 18:00", "E | 0 | old talk | 2020-01-01 10:00 | 2020-01-01 12:00",
+                "E | 1 | old meetup | 2020-01-01 10:00 | 2020-01-02 12:00", "T | 1 | last", "T | 1 | just done"));
+        Files.write(tempDir.resolve("duke.txt.done"), List.of("1 | 2020-01-01 09:00", "2 | 2020-01-11 09:00",
+                "3 | 2020-01-01 09:00", "3", "5 | 2020-01-03 09:00", "6 | 2020-01-01 09:00"));
+        Storage storage = new Storage(file.toString());
+        TaskList taskList = new TaskList(storage.readFile(), new Ui());
+        storage.attach(taskList);
+
+        // the task done without a time recorded is taken as done now, so it is kept
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        assertEquals(4, storage.archive(taskList, cutoff));
+        taskList.mark(2);
+        assertEquals(0, storage.archive(taskList, cutoff));
+        taskList.unMark(2);
+        List<String> times = Files.readAllLines(tempDir.resolve("duke.txt.done"));
+        assertEquals(3, times.size());
+        assertTrue(times.get(0).startsWith("4 | ") && times.get(1).startsWith("7 | "));
+        assertEquals("4", times.get(2));
+        List<Task> kept = new TaskList(new Storage(file.toString()).readFile(), new Ui()).returnTaskList();
+        assertEquals(List.of(3L, 4L, 7L), ids(kept));
+        Parser parser = new Parser(storage);
+        assertEquals("Here are your archived tasks:\n1. #1 [T][X] old todo\n"
+                + "2. #2 [D][X] old report (by: 10 Jan 2020 18:00)\n"
+                + "3. #5 [E][X] old meetup (from:01 Jan 2020 10:00 to:02 Jan 2020 12:00)\n"
+                + "4. #6 [T][X] last\n",
+                parser.parse("list archived", taskList));
+        assertFalse(parser.parse("find report", taskList).contains("old report"));
+        String found = parser.parse("find --all report", taskList);
+        assertTrue(found.contains("new report") && found.contains("old report"));
+
+        // a segment torn by a crash is cut off, and a task archived twice is only listed once
+        Path archive = tempDir.resolve("duke.txt.archive");
+        Files.write(archive, new byte[] {0, 0, 1}, StandardOpenOption.APPEND);
+        storage.getArchive().append(List.of(taskList.getTask(3)), 8);
+        storage.getArchive().append(List.of(taskList.getTask(3)), 8);
+        assertEquals(List.of(1L, 2L, 3L, 5L, 6L),
+                ids(new TaskArchive(archive.toString()).load().returnTaskList()));
+
+        // archived IDs are not given again, even once every task after them is deleted
+        taskList.deleteTasks(TaskSelection.parse("1-3"));
+        storage.save(taskList);
+        Storage restarted = new Storage(file.toString());
+        TaskList emptied = new TaskList(restarted.readFile(), new Ui());
+        restarted.attach(emptied);
+        emptied.addTask(new Todo("new", false));
+        assertEquals(List.of(8L), ids(emptied.returnTaskList()));
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> writeFormats(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.writeFormat());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,239 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.TaskList;
+import seedu.duke.utils.TaskListListener;
+
+/**
+ * Runs writers and readers on one TaskList at the same time, records every change in the order the
+ * TaskList applied it, and checks that every snapshot and query result seen by a reader is exactly the
+ * state of a sequential list at some version between the start and the end of that read.
+ */
+public class TaskListConcurrencyTest {
+    private static final String[] WORDS = {"alpha", "beta", "gamma", "delta"};
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int OPERATIONS = 1500;
+
+    private final Ui ui = new Ui();
+
+    @Test
+    public void readsAreLinearizableTest() throws Exception {
+        checkReadsAreLinearizable(TaskList.Store.OBJECTS);
+    }
+
+    @Test
+    public void columnarReadsAreLinearizableTest() throws Exception {
+        checkReadsAreLinearizable(TaskList.Store.COLUMNAR);
+    }
+
+    private void checkReadsAreLinearizable(TaskList.Store store) throws Exception {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            initial.add(new Todo(WORDS[i % WORDS.length] + " initial " + i, false));
+        }
+        TaskList taskList = new TaskList(new ArrayList<>(initial), ui, store);
+        List<Change> changes = Collections.synchronizedList(new ArrayList<>());
+        taskList.addListener(new Recorder(changes));
+
+        ExecutorService threads = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(threads.submit(() -> write(taskList, writer, start)));
+        }
+        List<Future<List<Read>>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(threads.submit(() -> read(taskList, isWriting, start)));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        isWriting.set(false);
+        List<Read> reads = new ArrayList<>();
+        for (Future<List<Read>> reader : readers) {
+            reads.addAll(reader.get());
+        }
+        threads.shutdown();
+
+        List<List<Task>> states = replay(initial, changes);
+        assertEquals(states.size() - 1, taskList.getVersion());
+        assertEquals(lines(states.get(states.size() - 1)), lines(taskList.returnTaskList()));
+        assertTrue(reads.size() > READERS);
+        for (Read read : reads) {
+            boolean isMatched = false;
+            for (long version = read.fromVersion; version <= read.toVersion && !isMatched; version++) {
+                isMatched = read.result.equals(read.expected(states.get((int) version)));
+            }
+            assertTrue(isMatched, "read between versions " + read.fromVersion + " and " + read.toVersion
+                    + " does not match any state");
+        }
+    }
+
+    private static void write(TaskList taskList, int writer, CountDownLatch start) {
+        Random random = new Random(writer);
+        awaitQuietly(start);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int size = taskList.returnTaskList().size();
+            int index = 1 + random.nextInt(Math.max(size, 1));
+            try {
+                switch (random.nextInt(4)) {
+                case 0:
+                    taskList.deleteTask(index);
+                    break;
+                case 1:
+                    taskList.mark(index);
+                    break;
+                case 2:
+                    taskList.unMark(index);
+                    break;
+                default:
+                    taskList.addTask(new Todo(WORDS[random.nextInt(WORDS.length)] + " writer " + writer
+                            + " " + i, false));
+                    break;
+                }
+            } catch (TaskException e) {
+                // another writer deleted the last tasks in between, the index is checked under the lock
+            }
+        }
+    }
+
+    private List<Read> read(TaskList taskList, AtomicBoolean isWriting, CountDownLatch start) {
+        List<Read> reads = new ArrayList<>();
+        awaitQuietly(start);
+        int count = 0;
+        while (isWriting.get()) {
+            TaskList.Snapshot snapshot = taskList.snapshot();
+            List<String> seen = lines(snapshot.getTasks());
+            reads.add(new Read(snapshot.getVersion(), snapshot.getVersion(), seen, null));
+            String word = WORDS[count++ % WORDS.length];
+            long before = taskList.getVersion();
+            String found = taskList.findTasks(word);
+            long after = taskList.getVersion();
+            reads.add(new Read(before, after, List.of(found), word));
+            assertEquals(seen, lines(snapshot.getTasks()), "snapshot changed after it was taken");
+        }
+        return reads;
+    }
+
+    private static List<List<Task>> replay(List<Task> initial, List<Change> changes) {
+        List<List<Task>> states = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>(initial);
+        states.add(new ArrayList<>(tasks));
+        for (Change change : changes) {
+            if (change.added != null) {
+                tasks.add(change.added);
+            } else if (change.isDelete) {
+                tasks.remove(change.index - 1);
+            } else {
+                tasks.set(change.index - 1, tasks.get(change.index - 1).withMarked(change.isMarked));
+            }
+            states.add(new ArrayList<>(tasks));
+        }
+        return states;
+    }
+
+    private static List<String> lines(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.writeFormat());
+        }
+        return lines;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A snapshot or find result seen by a reader, taken at some version in [fromVersion, toVersion]
+     */
+    private class Read {
+        private final long fromVersion;
+        private final long toVersion;
+        private final List<String> result;
+        private final String keyword;
+
+        Read(long fromVersion, long toVersion, List<String> result, String keyword) {
+            this.fromVersion = fromVersion;
+            this.toVersion = toVersion;
+            this.result = result;
+            this.keyword = keyword;
+        }
+
+        List<String> expected(List<Task> state) {
+            if (keyword == null) {
+                return lines(state);
+            }
+            List<Task> matches = new ArrayList<>();
+            for (Task task : state) {
+                if (task.getDescription().startsWith(keyword + " ")) {
+                    matches.add(task);
+                }
+            }
+            return List.of(ui.printTasksOnDateOrKeyword(matches));
+        }
+    }
+
+    private static class Change {
+        private final Task added;
+        private final boolean isDelete;
+        private final int index;
+        private final boolean isMarked;
+
+        Change(Task added, boolean isDelete, int index, boolean isMarked) {
+            this.added = added;
+            this.isDelete = isDelete;
+            this.index = index;
+            this.isMarked = isMarked;
+        }
+    }
+
+    private static class Recorder implements TaskListListener {
+        private final List<Change> changes;
+
+        Recorder(List<Change> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void taskAdded(Task task) {
+            changes.add(new Change(task, false, 0, false));
+        }
+
+        @Override
+        public void taskDeleted(int index) {
+            changes.add(new Change(null, true, index, false));
+        }
+
+        @Override
+        public void taskMarked(int index, boolean isMarked) {
+            changes.add(new Change(null, false, index, isMarked));
+        }
+    }
+}
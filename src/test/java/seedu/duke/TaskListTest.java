@@ -0,0 +1,305 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.duke.exceptions.NotIntegerException;
+import seedu.duke.exceptions.TaskException;
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+import seedu.duke.ui.Ui;
+import seedu.duke.utils.TaskList;
+import seedu.duke.utils.TaskLoad;
+import seedu.duke.utils.TaskSelection;
+
+public class TaskListTest {
+    private final Ui ui = new Ui();
+
+    @Test
+    public void findByWordPrefixTest() throws TaskException {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new Todo("Return library Book", false),
+                new Todo("buy notebook", false), new Todo("read books at library", false))), ui);
+        taskList.addTask(new Todo("bookshelf assembly", false));
+        taskList.deleteTask(3);
+
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(tasks(taskList).get(0), tasks(taskList).get(2))),
+                taskList.findTasks("book"));
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(tasks(taskList).get(0))),
+                taskList.findTasks("LIB bo"));
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of()), taskList.findTasks("bookshelves"));
+    }
+
+    @Test
+    public void findBySubstringTest() {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new Todo("Return library Book", false),
+                new Todo("buy notebook", false))), ui);
+
+        assertEquals(ui.printTasksOnDateOrKeyword(tasks(taskList)), taskList.findTasksContaining("book"));
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(tasks(taskList).get(1))), taskList.findTasks("?? note"));
+    }
+
+    @Test
+    public void findBySubstringMatchesEveryTaskContainingKeywordTest() throws TaskException, NotIntegerException {
+        String[] words = {"Book", "notebook", "boy", "toy", "e-mail", "re:", "oyster", "bo", "k", "2023"};
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            initial.add(new Todo(words[i % words.length] + " " + words[i * 7 % words.length] + " " + i, false));
+        }
+        TaskList taskList = new TaskList(initial, ui);
+        String[] keywords = {"book", "ook", "OY", "o", "k n", "ok b", "book 1", " bo", "y ", "e-m", "re: ", "??",
+                "oyster toy", "boys"};
+        assertMatchesScan(taskList, keywords);
+
+        // tasks added after the index was built are compared one by one, deleted ones are left out
+        taskList.addTask(new Todo("Toy story", false));
+        taskList.deleteTasks(TaskSelection.parse("1-100"));
+        assertMatchesScan(taskList, keywords);
+    }
+
+    private static void assertMatchesScan(TaskList taskList, String[] keywords) {
+        for (String keyword : keywords) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks(taskList)) {
+                if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, taskList.getTasksContaining(keyword), keyword);
+        }
+    }
+
+    @Test
+    public void searchRanksClosestTasksTest() throws TaskException {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new Todo("submit project report", false),
+                new Todo("read report", false), new Todo("buy groceries", false),
+                new Todo("report bug in parser", false), new Todo("submit tax return", false))), ui);
+
+        assertEquals(List.of("[T][ ] submit project report"), strings(taskList.getClosestTasks("sumbit reprot", 10)));
+        List<Task> closest = taskList.getClosestTasks("report", 2);
+        assertEquals(2, closest.size());
+        assertEquals("[T][ ] read report", closest.get(0).toString());
+        assertEquals(ui.printSearchResults(List.of()), taskList.searchTasks("xyz", 10));
+
+        taskList.deleteTask(2);
+        taskList.addTask(new Todo("write reprot", false));
+        closest = taskList.getClosestTasks("reprot", 10);
+        assertEquals("[T][ ] write reprot", closest.get(0).toString());
+        assertFalse(strings(closest).contains("[T][ ] read report"));
+        assertEquals(3, closest.size());
+    }
+
+    @Test
+    public void checkDateFindsMultiDayEventsTest() throws TaskException {
+        Task deadline = new Deadline("submit report", LocalDateTime.of(2023, 9, 20, 23, 59), false);
+        Task event = new Event("camp", LocalDateTime.of(2023, 9, 18, 9, 0),
+                LocalDateTime.of(2023, 9, 21, 17, 0), false);
+        Task other = new Deadline("pay bills", LocalDateTime.of(2023, 9, 25, 12, 0), false);
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(other, new Todo("eat", false), deadline)), ui);
+        taskList.addTask(event);
+
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(event, deadline)),
+                taskList.getTasksOnDate(LocalDate.of(2023, 9, 20)));
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(event, other)),
+                taskList.getTasksBetween(LocalDate.of(2023, 9, 21), LocalDate.of(2023, 9, 25)));
+        taskList.deleteTask(4);
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(deadline)),
+                taskList.getTasksOnDate(LocalDate.of(2023, 9, 20)));
+    }
+
+    @Test
+    public void columnarStoreMatchesObjectStoreTest() throws TaskException, NotIntegerException {
+        List<Task> initial = List.of(new Todo("caf\u00e9 \u2615 r\u00e9sum\u00e9", true),
+                new Todo("x".repeat(300), false),
+                new Deadline("submit report", LocalDateTime.of(2023, 9, 20, 23, 59), false),
+                new Event("camp", LocalDateTime.of(2023, 9, 18, 9, 0), LocalDateTime.of(2023, 9, 21, 17, 0), true));
+        TaskList objects = new TaskList(new ArrayList<>(initial), ui, TaskList.Store.OBJECTS);
+        TaskList columnar = new TaskList(new ArrayList<>(initial), ui, TaskList.Store.COLUMNAR);
+        TaskList.Snapshot first = columnar.snapshot();
+        String firstList = lines(first.getTasks());
+
+        // enough deletions for the tombstones of both stores to be compacted many times
+        Random random = new Random(7);
+        for (int i = 0; i < 60000; i++) {
+            Task task = i % 3 == 0
+                    ? new Event("event number " + i + " in the garden", LocalDateTime.of(2023, 9, 1 + i % 28, 9, 0),
+                            LocalDateTime.of(2023, 9, 1 + i % 28, 11, 30), false)
+                    : new Todo("task number " + i + " of the long running test", false);
+            assertEquals(objects.addTask(task), columnar.addTask(task));
+            int index = 1 + random.nextInt(tasks(objects).size());
+            if (i % 2 == 0) {
+                assertEquals(objects.mark(index), columnar.mark(index));
+            } else {
+                assertEquals(objects.unMark(index), columnar.unMark(index));
+            }
+            if (tasks(objects).size() > 100) {
+                index = 1 + random.nextInt(tasks(objects).size());
+                assertEquals(objects.deleteTask(index), columnar.deleteTask(index));
+            }
+        }
+
+        assertEquals(objects.getTasksOnDate(LocalDate.of(2023, 9, 20)),
+                columnar.getTasksOnDate(LocalDate.of(2023, 9, 20)));
+        TaskSelection selection = TaskSelection.parse("10-40,55,60-61");
+        assertEquals(objects.markTasks(selection), columnar.markTasks(selection));
+        assertEquals(objects.unMarkTasks(TaskSelection.parse("12")), columnar.unMarkTasks(TaskSelection.parse("12")));
+        TaskSelection done = TaskSelection.parse("done");
+        assertEquals(objects.deleteTasks(done), columnar.deleteTasks(done));
+
+        assertEquals(objects.listAllTasks(), columnar.listAllTasks());
+        assertEquals(lines(tasks(objects)), lines(tasks(columnar)));
+        assertEquals(objects.findTasks("garden 9"), columnar.findTasks("garden 9"));
+        assertEquals(objects.getTasksOnDate(LocalDate.of(2023, 9, 20)),
+                columnar.getTasksOnDate(LocalDate.of(2023, 9, 20)));
+        assertEquals(firstList, lines(first.getTasks()));
+    }
+
+    @Test
+    public void findAfterManyDeletionsTest() throws Exception {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 1; i <= 3000; i++) {
+            initial.add(new Todo((i % 3 == 0 ? "read book " : "write essay ") + i, false));
+        }
+        TaskList taskList = new TaskList(initial, ui);
+        assertEquals(1000, taskList.getTasksWithKeyword("book").size());
+
+        // the stale keyword index is searched until the one built in the background replaces it
+        taskList.deleteTasks(TaskSelection.parse("1-2000"));
+        assertEquals(334, taskList.getTasksWithKeyword("book").size());
+        taskList.addTask(new Todo("book club", false));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(335, taskList.getTasksWithKeyword("book").size());
+            Thread.sleep(2);
+        }
+        assertEquals("[T][ ] book club", taskList.getTasksWithKeyword("club").get(0).toString());
+    }
+
+    @Test
+    public void idsStayWithTasksTest() throws TaskException, NotIntegerException {
+        for (TaskList.Store store : TaskList.Store.values()) {
+            TaskList taskList = new TaskList(new ArrayList<>(List.of(new Todo("first", false),
+                    new Todo("second", false).withId(5), new Todo("third", false))), ui, store);
+            List<Task> expected = new ArrayList<>(List.of(new Todo("first", false, 1), new Todo("second", false, 5),
+                    new Todo("third", false, 6)));
+            long nextId = 7;
+            Random random = new Random(3);
+            for (int i = 0; i < 20000; i++) {
+                Task task = new Todo("task " + i, false);
+                taskList.addTask(task);
+                expected.add(task.withId(nextId++));
+                int position = random.nextInt(expected.size());
+                switch (random.nextInt(4)) {
+                case 0:
+                    taskList.deleteTasks(TaskSelection.parse("#" + expected.remove(position).getId()));
+                    break;
+                case 1:
+                    taskList.deleteTask(position + 1);
+                    expected.remove(position);
+                    break;
+                case 2:
+                    taskList.markTasks(TaskSelection.parse("#" + expected.get(position).getId()));
+                    expected.set(position, expected.get(position).withMarked(true));
+                    break;
+                default:
+                    break;
+                }
+                if (i % 1000 == 0) {
+                    assertEquals(ids(expected), ids(tasks(taskList)));
+                }
+            }
+            assertEquals(lines(expected), lines(tasks(taskList)));
+            assertEquals(ids(expected), ids(tasks(taskList)));
+        }
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static String lines(List<Task> tasks) {
+        StringBuilder lines = new StringBuilder();
+        for (Task task : tasks) {
+            lines.append(task.writeFormat()).append('\n');
+        }
+        return lines.toString();
+    }
+
+    @Test
+    public void restLoadedInBackgroundTest() throws Exception {
+        CompletableFuture<List<Task>> rest = new CompletableFuture<>();
+        TaskList taskList = new TaskList(new TaskLoad(List.of(new Todo("eat", false), new Todo("sleep", false),
+                new Todo("code", false)), rest), ui, TaskList.Store.OBJECTS);
+
+        // tasks already loaded can be changed and listed straight away
+        taskList.mark(2);
+        taskList.deleteTasks(TaskSelection.parse("1"));
+        assertFalse(taskList.isLoaded());
+        assertEquals(2, taskList.snapshotWith(2).getTasks().size());
+
+        // adding a task waits for the rest, which get their IDs after the last task loaded
+        CompletableFuture<String> added = CompletableFuture.supplyAsync(() -> taskList.addTask(
+                new Todo("read", false)));
+        Thread.sleep(50);
+        assertFalse(added.isDone());
+        rest.complete(List.of(new Todo("run", false), new Todo("swim", true)));
+        added.get(5, TimeUnit.SECONDS);
+
+        assertTrue(taskList.isLoaded());
+        assertEquals(List.of("[T][X] sleep", "[T][ ] code", "[T][ ] run", "[T][X] swim", "[T][ ] read"),
+                strings(tasks(taskList)));
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks(taskList)) {
+            ids.add(task.getId());
+        }
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), ids);
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(tasks(taskList).get(3))), taskList.findTasks("swim"));
+    }
+
+    @Test
+    public void restAppendedToNewestVectorTest() throws Exception {
+        CompletableFuture<List<Task>> rest = new CompletableFuture<>();
+        TaskList taskList = new TaskList(new TaskLoad(List.of(new Todo("eat", false), new Todo("sleep", false)),
+                rest), ui, TaskList.Store.COLUMNAR);
+        TaskList.Snapshot first = taskList.snapshot();
+        taskList.mark(1);
+        TaskList.Snapshot marked = taskList.snapshot();
+
+        rest.complete(List.of(new Todo("run", false), new Todo("swim", false)));
+        assertTrue(taskList.isLoaded());
+
+        // the rest are in the newest vector, and the older snapshots still see only their own tasks
+        assertEquals(List.of("[T][X] eat", "[T][ ] sleep", "[T][ ] run", "[T][ ] swim"),
+                strings(tasks(taskList)));
+        assertEquals(List.of("[T][ ] eat", "[T][ ] sleep"), strings(first.getTasks()));
+        assertEquals(List.of("[T][X] eat", "[T][ ] sleep"), strings(marked.getTasks()));
+        assertEquals(ui.printTasksOnDateOrKeyword(List.of(tasks(taskList).get(3))), taskList.findTasks("swim"));
+    }
+
+    private static List<String> strings(List<Task> tasks) {
+        List<String> strings = new ArrayList<>();
+        for (Task task : tasks) {
+            strings.add(task.toString());
+        }
+        return strings;
+    }
+
+    private static List<Task> tasks(TaskList taskList) {
+        return taskList.returnTaskList();
+    }
+}
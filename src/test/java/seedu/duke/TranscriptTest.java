@@ -0,0 +1,79 @@
+package seedu.duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.duke.duke.Transcript;
+
+public class TranscriptTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void oldestMessagesDroppedWithoutFileTest() {
+        List<Transcript.Message> window = new ArrayList<>();
+        Transcript transcript = new Transcript(window, 3, null);
+        for (int i = 0; i < 10; i++) {
+            transcript.add(new Transcript.Message(i % 2 == 0, "message " + i));
+        }
+
+        assertEquals(List.of("message 7", "message 8", "message 9"), texts(window));
+        assertEquals(10, transcript.size());
+        assertEquals(7, transcript.getStart());
+        assertFalse(transcript.hasOlder());
+        assertEquals(0, transcript.loadOlder(5));
+    }
+
+    @Test
+    public void spilledMessagesPagedBackTest() {
+        List<Transcript.Message> window = new ArrayList<>();
+        Transcript transcript = new Transcript(window, 4, tempDir.resolve("transcript.txt"));
+        for (int i = 0; i < 20; i++) {
+            transcript.add(new Transcript.Message(i % 2 == 0, "line " + i + "\nC:\\tasks\\" + i));
+        }
+
+        assertEquals(3, transcript.loadOlder(3));
+        assertEquals(13, transcript.getStart());
+        assertEquals(List.of(13, 14, 15, 16), numbers(window));
+        assertTrue(transcript.hasNewer());
+        assertEquals("line 13\nC:\\tasks\\13", window.get(0).getText());
+        assertFalse(window.get(0).isUser());
+        assertTrue(window.get(1).isUser());
+
+        while (transcript.hasOlder()) {
+            transcript.loadOlder(3);
+        }
+        assertEquals(List.of(0, 1, 2, 3), numbers(window));
+        assertEquals(2, transcript.loadNewer(2));
+        assertEquals(List.of(2, 3, 4, 5), numbers(window));
+
+        transcript.add(new Transcript.Message(true, "line 20\nC:\\tasks\\20"));
+        assertEquals(List.of(17, 18, 19, 20), numbers(window));
+        assertFalse(transcript.hasNewer());
+        transcript.close();
+    }
+
+    private static List<String> texts(List<Transcript.Message> messages) {
+        List<String> texts = new ArrayList<>();
+        for (Transcript.Message message : messages) {
+            texts.add(message.getText());
+        }
+        return texts;
+    }
+
+    private static List<Integer> numbers(List<Transcript.Message> messages) {
+        List<Integer> numbers = new ArrayList<>();
+        for (String text : texts(messages)) {
+            numbers.add(Integer.parseInt(text.substring("line ".length(), text.indexOf('\n'))));
+        }
+        return numbers;
+    }
+}
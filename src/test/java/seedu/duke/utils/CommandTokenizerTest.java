@@ -0,0 +1,74 @@
+package seedu.duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandTokenizerTest {
+    @Test
+    public void whitespaceRunsTest() {
+        CommandTokenizer command = new CommandTokenizer("   deadline   return \t book   /by   2023-09-20 18:00 \t ");
+        assertEquals(Parser.Operation.DEADLINE, command.getOperation());
+        assertEquals("return \t book   /by   2023-09-20 18:00", command.arguments());
+        assertEquals("return \t book", command.before(CommandTokenizer.Keyword.BY));
+        assertEquals("2023-09-20 18:00", command.after(CommandTokenizer.Keyword.BY));
+
+        CommandTokenizer list = new CommandTokenizer("LIST   \t ");
+        assertEquals(Parser.Operation.LIST, list.getOperation());
+        assertFalse(list.hasArguments());
+        assertEquals("", list.arguments());
+        assertNull(new CommandTokenizer("").getOperation());
+        assertNull(new CommandTokenizer("   ").getOperation());
+        assertNull(new CommandTokenizer("lists").getOperation());
+    }
+
+    @Test
+    public void keywordsTest() {
+        CommandTokenizer event = new CommandTokenizer("event camp /TO 2023-09-22 /From 2023-09-21 /to 2023-09-23");
+        // a /to before /from is part of the description
+        assertEquals("camp /TO 2023-09-22", event.before(CommandTokenizer.Keyword.FROM));
+        assertEquals("2023-09-21", event.after(CommandTokenizer.Keyword.FROM, CommandTokenizer.Keyword.TO));
+        assertEquals("2023-09-23", event.after(CommandTokenizer.Keyword.TO));
+
+        CommandTokenizer todo = new CommandTokenizer("todo read book");
+        assertFalse(todo.hasKeyword(CommandTokenizer.Keyword.BY));
+        assertEquals("read book", todo.before(CommandTokenizer.Keyword.BY));
+        assertEquals("", todo.after(CommandTokenizer.Keyword.BY));
+    }
+
+    @Test
+    public void quotesKeptAsTypedTest() {
+        // quotes have no special meaning: they stay in the description, and a keyword inside them still counts
+        CommandTokenizer todo = new CommandTokenizer("todo \"Return  Book\" 'now'");
+        assertEquals("\"Return  Book\" 'now'", todo.arguments());
+
+        CommandTokenizer deadline = new CommandTokenizer("deadline \"essay /by friday\" /by 2023-09-20 18:00");
+        assertTrue(deadline.hasKeyword(CommandTokenizer.Keyword.BY));
+        assertEquals("\"essay", deadline.before(CommandTokenizer.Keyword.BY));
+        assertEquals("friday\" /by 2023-09-20 18:00", deadline.after(CommandTokenizer.Keyword.BY));
+    }
+
+    @Test
+    public void parseIntegerTest() {
+        assertEquals(42, new CommandTokenizer("mark 42").integerArgument());
+        assertEquals(42, CommandTokenizer.parseInteger("+42", 0, 3));
+        assertEquals(Integer.MAX_VALUE, CommandTokenizer.parseInteger("2147483647", 0, 10));
+        assertEquals(Integer.MIN_VALUE, CommandTokenizer.parseInteger("-2147483648", 0, 11));
+        assertEquals(7, CommandTokenizer.parseInteger("x7y", 1, 2));
+
+        // out of the int range, including values that would wrap around a long
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("2147483648", 0, 10));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("-2147483649", 0, 11));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("99999999999999999999", 0, 20));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("18446744073709551658", 0, 20));
+
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("", 0, 0));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("-", 0, 1));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger("1a", 0, 2));
+        assertEquals(CommandTokenizer.NOT_INTEGER, CommandTokenizer.parseInteger(" 1", 0, 2));
+        assertEquals(CommandTokenizer.NOT_INTEGER, new CommandTokenizer("mark one").integerArgument());
+    }
+}
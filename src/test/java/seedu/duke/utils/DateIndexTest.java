@@ -0,0 +1,125 @@
+package seedu.duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.duke.tasks.Deadline;
+import seedu.duke.tasks.Event;
+import seedu.duke.tasks.Task;
+import seedu.duke.tasks.Todo;
+
+public class DateIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 9, 1, 0, 0);
+
+    @Test
+    public void matchesLinearScanTest() {
+        assertMatchesLinearScan(TaskVector.empty());
+    }
+
+    @Test
+    public void columnarMatchesLinearScanTest() {
+        assertMatchesLinearScan(TaskVector.emptyColumnar());
+    }
+
+    private static void assertMatchesLinearScan(TaskVector empty) {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        TaskVector vector = empty;
+        // sequence numbers with gaps, as after deletions, so none is the position of its task
+        for (int i = 0; i < 2000; i++) {
+            Task task = randomTask(random, i).withId(3L * i + 7);
+            tasks.add(task);
+            vector = vector.append(task);
+        }
+        DateIndex index = DateIndex.of(vector);
+        for (int i = 0; i < 2000; i++) {
+            int choice = random.nextInt(3);
+            if (choice == 0) {
+                Task task = randomTask(random, 2000 + i).withId(3L * (2000 + i) + 7);
+                tasks.add(task);
+                vector = vector.append(task);
+                index = index.add(vector, vector.size() - 1);
+            } else if (choice == 1) {
+                int position = random.nextInt(tasks.size());
+                index = index.remove(vector, position);
+                vector = vector.remove(position);
+                tasks.remove(position);
+            } else {
+                int position = random.nextInt(tasks.size());
+                Task marked = tasks.get(position).withMarked(true);
+                tasks.set(position, marked);
+                vector = vector.set(position, marked);
+                index = index.setMarked(vector, position);
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = BASE.plusHours(random.nextInt(24 * 60));
+            LocalDateTime to = from.plusHours(random.nextInt(24 * 7));
+            assertEquals(strings(scan(tasks, from, to)), strings(index.between(from, to, vector)));
+            int limit = 1 + random.nextInt(50);
+            assertEquals(strings(scanUpcoming(tasks, from, to, limit)),
+                    strings(index.upcoming(from, to, limit, vector)));
+        }
+    }
+
+    private static List<String> strings(List<Task> tasks) {
+        List<String> strings = new ArrayList<>();
+        for (Task task : tasks) {
+            strings.add(task.getId() + " " + task);
+        }
+        return strings;
+    }
+
+    private static Task randomTask(Random random, int number) {
+        LocalDateTime start = BASE.plusHours(random.nextInt(24 * 60));
+        switch (random.nextInt(3)) {
+        case 0:
+            return new Todo("todo " + number, false);
+        case 1:
+            return new Deadline("deadline " + number, start, false);
+        default:
+            return new Event("event " + number, start, start.plusHours(random.nextInt(24 * 5)), false);
+        }
+    }
+
+    private static List<Task> scan(List<Task> tasks, LocalDateTime from, LocalDateTime to) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task instanceof Deadline) {
+                LocalDateTime by = ((Deadline) task).getByDateTime();
+                if (!by.isBefore(from) && by.isBefore(to)) {
+                    matches.add(task);
+                }
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                if (event.getFromDate().isBefore(to) && !event.getToDate().isBefore(from)) {
+                    matches.add(task);
+                }
+            }
+        }
+        matches.sort((first, second) -> startOf(first).compareTo(startOf(second)));
+        return matches;
+    }
+
+    private static List<Task> scanUpcoming(List<Task> tasks, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!(task instanceof Todo) && !task.isMarked() && !startOf(task).isBefore(from)
+                    && startOf(task).isBefore(to)) {
+                matches.add(task);
+            }
+        }
+        matches.sort((first, second) -> startOf(first).compareTo(startOf(second)));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private static LocalDateTime startOf(Task task) {
+        return task instanceof Deadline ? ((Deadline) task).getByDateTime() : ((Event) task).getFromDate();
+    }
+}